@@ -0,0 +1,191 @@
+package com.neoping.backend.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Function;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.neoping.backend.dto.PostListResponse;
+import com.neoping.backend.dto.PostResponse;
+import com.neoping.backend.dto.PostSummary;
+import com.neoping.backend.model.Comment;
+import com.neoping.backend.model.Community;
+import com.neoping.backend.model.Post;
+import com.neoping.backend.model.User;
+import com.neoping.backend.security.JwtProvider;
+
+// Shared test data and wiring. Settings that change what is measured (JWT
+// secret, Jackson output, template caching) are read from the backend's own
+// application.properties, so the benchmarks follow the shipped configuration.
+public final class Fixtures {
+
+    public static final int PAGE_SIZE = 20;
+
+    private static final Properties APPLICATION = load("application.properties");
+
+    private Fixtures() {
+    }
+
+    public static String property(String name) {
+        String value = APPLICATION.getProperty(name);
+        return value != null ? value.trim() : null;
+    }
+
+    public static User user(long id) {
+        return User.builder()
+                .id(id)
+                .username("user" + id)
+                .email("user" + id + "@example.com")
+                .password("unused")
+                .created(Instant.parse("2024-01-01T00:00:00Z"))
+                .enabled(true)
+                .build();
+    }
+
+    // A page of posts by different authors in different communities, aged
+    // from minutes to months so every TimeAgo branch is exercised
+    public static List<Post> posts(int count) {
+        Instant now = Instant.now();
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Community community = Community.builder()
+                    .id((long) i % 5 + 1)
+                    .name("community" + (i % 5 + 1))
+                    .displayName("Community " + (i % 5 + 1))
+                    .build();
+            posts.add(Post.builder()
+                    .id((long) i)
+                    .title("Post " + i + " about something worth reading")
+                    .description("Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(6))
+                    .voteCount((long) i * 3)
+                    .createdDate(now.minus(Duration.ofMinutes((long) Math.pow(3, i % 12))))
+                    .user(user(i))
+                    .community(community)
+                    .category("Technology")
+                    .image(i % 3 == 0 ? "image" + i + ".png" : null)
+                    .build());
+        }
+        return posts;
+    }
+
+    // The same page as PostRepository's list queries return it
+    public static List<PostSummary> postSummaries(int count) {
+        List<PostSummary> summaries = new ArrayList<>(count);
+        for (Post post : posts(count)) {
+            summaries.add(PostSummary.builder()
+                    .id(post.getId())
+                    .version(0L)
+                    .title(post.getTitle())
+                    .excerpt(Post.excerptOf(post.getDescription()))
+                    .createdDate(post.getCreatedDate())
+                    .voteCount(post.getVoteCount())
+                    .image(post.getImage())
+                    .username(post.getUser().getUsername())
+                    .communityId(post.getCommunity().getId())
+                    .communityName(post.getCommunity().getName())
+                    .build());
+        }
+        return summaries;
+    }
+
+    public static List<Comment> comments(int count) {
+        Post post = posts(1).get(0);
+        List<Comment> comments = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            comments.add(Comment.builder()
+                    .id((long) i)
+                    .content("Comment number " + i + " with a few words of text")
+                    .post(post)
+                    .user(user(i))
+                    .parentComment(i % 4 == 0 ? comments.get(i - 2) : null)
+                    .createdAt(LocalDateTime.now().minusMinutes(i))
+                    .build());
+        }
+        return comments;
+    }
+
+    // Shaped like PostMapper's output for a feed page
+    public static PostListResponse postListResponse(int count) {
+        List<PostResponse> responses = new ArrayList<>(count);
+        for (PostSummary post : postSummaries(count)) {
+            responses.add(PostResponse.builder()
+                    .id(post.getId())
+                    .postId(post.getId())
+                    .title(post.getTitle())
+                    .content(post.getExcerpt())
+                    .createdDate(post.getCreatedDate())
+                    .timestamp(post.getCreatedDate())
+                    .userName(post.getUsername())
+                    .user(post.getUsername())
+                    .username(post.getUsername())
+                    .voteCount(post.getVoteCount().intValue())
+                    .likes(post.getVoteCount().intValue())
+                    .commentCount(12)
+                    .duration("3 hours ago")
+                    .image(post.getImage())
+                    .imageUrl("")
+                    .community(post.getCommunityName())
+                    .communityId(post.getCommunityId())
+                    .version(post.getVersion())
+                    .shares(0)
+                    .success(true)
+                    .error("")
+                    .message("")
+                    .subredditName("")
+                    .build());
+        }
+        return PostListResponse.builder()
+                .posts(responses)
+                .total(100_000)
+                .limit(count)
+                .offset(0)
+                .hasMore(true)
+                .success(true)
+                .build();
+    }
+
+    public static JwtProvider jwtProvider() {
+        JwtProvider provider = new JwtProvider();
+        ReflectionTestUtils.setField(provider, "secret", property("jwt.secret"));
+        ReflectionTestUtils.setField(provider, "jwtExpirationInMillis", Long.valueOf(property("jwt.expiration.time")));
+        ReflectionTestUtils.setField(provider, "jwtRefreshExpirationInMillis",
+                Long.valueOf(property("jwt.refresh.expiration.time")));
+        return provider;
+    }
+
+    // A repository (or any interface) that answers one method and rejects
+    // everything else, so a benchmark cannot silently hit an unstubbed call
+    @SuppressWarnings("unchecked")
+    public static <T> T stub(Class<T> type, String method, Function<Object[], Object> answer) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, m, args) -> {
+            if (m.getName().equals(method)) {
+                return answer.apply(args);
+            }
+            if (m.getName().equals("toString")) {
+                return type.getSimpleName() + " stub";
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + m.getName() + " is not stubbed");
+        });
+    }
+
+    private static Properties load(String resource) {
+        Properties properties = new Properties();
+        try (InputStream in = Fixtures.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException(resource + " not found; is the backend jar on the classpath?");
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read " + resource, e);
+        }
+        return properties;
+    }
+}
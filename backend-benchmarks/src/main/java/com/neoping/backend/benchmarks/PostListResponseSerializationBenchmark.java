@@ -0,0 +1,61 @@
+package com.neoping.backend.benchmarks;
+
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.neoping.backend.dto.PostListResponse;
+import com.neoping.backend.dto.v2.PostPageV2;
+import com.neoping.backend.mapper.PostV2MapperImpl;
+
+// Writing a feed page, as v1 PostListResponse and as the compact v2 page,
+// with an ObjectMapper configured from the shipped spring.jackson.* settings,
+// as the message converter does
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostListResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private PostListResponse page;
+    private PostPageV2 compactPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .indentOutput(Boolean.parseBoolean(Fixtures.property("spring.jackson.indent-output")))
+                .timeZone(TimeZone.getTimeZone(Fixtures.property("spring.jackson.time-zone")))
+                .build();
+        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                Boolean.parseBoolean(Fixtures.property("spring.jackson.write-dates-as-timestamps")));
+        page = Fixtures.postListResponse(Fixtures.PAGE_SIZE);
+        compactPage = new PostV2MapperImpl().toV2(page);
+    }
+
+    @Benchmark
+    public byte[] writePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] writeCompactPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(compactPage);
+    }
+}
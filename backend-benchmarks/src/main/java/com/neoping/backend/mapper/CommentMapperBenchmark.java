@@ -0,0 +1,53 @@
+package com.neoping.backend.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.neoping.backend.benchmarks.Fixtures;
+import com.neoping.backend.dto.CommentDto;
+import com.neoping.backend.model.Comment;
+
+// CommentMapper.mapToDto over a post's comment list, a quarter of them replies
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommentMapperBenchmark {
+
+    private CommentMapper mapper;
+    private List<Comment> comments;
+
+    @Setup
+    public void setUp() {
+        mapper = new CommentMapperImpl();
+        comments = Fixtures.comments(Fixtures.PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<CommentDto> mapPage() {
+        List<CommentDto> dtos = new ArrayList<>(comments.size());
+        for (Comment comment : comments) {
+            dtos.add(mapper.mapToDto(comment));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public CommentDto mapOne() {
+        return mapper.mapToDto(comments.get(0));
+    }
+}
@@ -0,0 +1,105 @@
+package com.neoping.backend.mapper;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.neoping.backend.benchmarks.Fixtures;
+import com.neoping.backend.dto.PostResponse;
+import com.neoping.backend.dto.PostSummary;
+import com.neoping.backend.model.Post;
+import com.neoping.backend.model.VoteType;
+import com.neoping.backend.repository.CommentRepository;
+import com.neoping.backend.repository.VoteRepository;
+
+// PostMapper on a feed page, as PostService calls it, with the comment-count
+// and vote lookups answered in memory so only mapping cost is measured.
+// timeAgo isolates the TimeAgo formatting behind PostResponse.duration.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostMapperBenchmark {
+
+    private PostMapperImpl mapper;
+    private List<PostSummary> page;
+    private Post post;
+    private Instant createdDate;
+
+    @Setup
+    public void setUp() {
+        mapper = new PostMapperImpl();
+        mapper.commentRepository = Fixtures.stub(CommentRepository.class, "countByPostIds", args -> {
+            List<CommentRepository.PostCommentCount> counts = new ArrayList<>();
+            for (Object id : (Collection<?>) args[0]) {
+                counts.add(new CommentRepository.PostCommentCount() {
+                    public Long getPostId() {
+                        return (Long) id;
+                    }
+
+                    public long getCommentCount() {
+                        return 12;
+                    }
+                });
+            }
+            return counts;
+        });
+        mapper.voteRepository = Fixtures.stub(VoteRepository.class, "findVotesByUsernameAndPostIds", args -> {
+            List<VoteRepository.PostVote> votes = new ArrayList<>();
+            for (Object id : (Collection<?>) args[1]) {
+                if ((Long) id % 2 == 0) {
+                    votes.add(new VoteRepository.PostVote() {
+                        public Long getPostId() {
+                            return (Long) id;
+                        }
+
+                        public VoteType getVoteType() {
+                            return VoteType.UPVOTE;
+                        }
+                    });
+                }
+            }
+            return votes;
+        });
+        // Signed in, so the vote lookup runs as it does for real readers
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("reader", null, List.of()));
+
+        page = Fixtures.postSummaries(Fixtures.PAGE_SIZE);
+        post = Fixtures.posts(1).get(0);
+        createdDate = Instant.now().minus(3, ChronoUnit.HOURS);
+    }
+
+    @Benchmark
+    public List<PostResponse> mapPage() {
+        return mapper.mapToDtos(page);
+    }
+
+    @Benchmark
+    public PostResponse mapOne() {
+        return mapper.mapToDto(post);
+    }
+
+    @Benchmark
+    public String timeAgo() {
+        return mapper.mapDuration(createdDate);
+    }
+}
@@ -0,0 +1,58 @@
+package com.neoping.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import com.neoping.backend.benchmarks.Fixtures;
+
+// MailContentBuilder.build with the template resolver set up as Boot does
+// from spring.thymeleaf.*. templateCache runs both settings; "shipped" uses
+// the value in application.properties.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MailContentBuilderBenchmark {
+
+    @Param({ "shipped", "true", "false" })
+    public String templateCache;
+
+    private MailContentBuilder builder;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix(Fixtures.property("spring.thymeleaf.prefix").replace("classpath:/", ""));
+        resolver.setSuffix(Fixtures.property("spring.thymeleaf.suffix"));
+        resolver.setTemplateMode(TemplateMode.parse(Fixtures.property("spring.thymeleaf.mode")));
+        resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resolver.setCacheable(Boolean.parseBoolean(
+                "shipped".equals(templateCache) ? Fixtures.property("spring.thymeleaf.cache") : templateCache));
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        builder = new MailContentBuilder(engine);
+    }
+
+    @Benchmark
+    public String build() {
+        return builder.build("Thank you for signing up to NeoPing, please click on the link below to activate "
+                + "your account: http://localhost:8082/api/auth/accountVerification/0d3f7c9e-5b1a-4c1e");
+    }
+}
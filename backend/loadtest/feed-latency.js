@@ -0,0 +1,30 @@
+// k6 load test for comparing platform vs virtual threads.
+//
+// Run once per mode against the same database and compare http_req_duration p(99):
+//   NEOPING_VIRTUAL_THREADS=false java -jar target/backend-0.0.1-SNAPSHOT.jar
+//   NEOPING_VIRTUAL_THREADS=true  java -jar target/backend-0.0.1-SNAPSHOT.jar   (Java 21+)
+//   k6 run -e BASE_URL=http://localhost:8082 -e TOKEN=<jwt> loadtest/feed-latency.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8082';
+const TOKEN = __ENV.TOKEN;
+
+export const options = {
+    scenarios: {
+        feed: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 2000),
+            duration: __ENV.DURATION || '2m',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+const params = { headers: { Authorization: `Bearer ${TOKEN}` } };
+
+export default function () {
+    const res = http.get(`${BASE_URL}/api/posts?limit=20&offset=0`, params);
+    check(res, { 'status is 200': (r) => r.status === 200 });
+    http.get(`${BASE_URL}/api/notifications/unread-count`, params);
+}
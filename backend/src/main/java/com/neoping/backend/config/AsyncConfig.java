@@ -0,0 +1,104 @@
+package com.neoping.backend.config;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Every executor follows spring.threads.virtual.enabled, the same switch Boot
+// uses for Tomcat and the scheduler (virtual threads need a Java 21+ runtime;
+// on older JVMs the platform beans are used). Declaring any Executor makes
+// Boot drop its own applicationTaskExecutor, so it is declared here as well,
+// built from Boot's builders so spring.task.execution.* still applies.
+@Configuration
+@Slf4j
+public class AsyncConfig {
+
+    private final int mailConcurrency;
+    private final Semaphore mailPermits;
+    private final LongAdder droppedMails = new LongAdder();
+
+    public AsyncConfig(@Value("${neoping.mail.concurrency:4}") int mailConcurrency) {
+        this.mailConcurrency = mailConcurrency;
+        this.mailPermits = new Semaphore(mailConcurrency);
+    }
+
+    @Bean(name = { "applicationTaskExecutor", "taskExecutor" })
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualApplicationTaskExecutor(SimpleAsyncTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(name = { "applicationTaskExecutor", "taskExecutor" })
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor platformApplicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    // One virtual thread per mail. JavaMail's SMTP transport synchronizes
+    // around socket I/O, which pins the carrier thread, so sends in flight are
+    // capped below the carrier count. The permit is awaited on the mail's own
+    // virtual thread, never on the caller's.
+    @Bean("mailTaskExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualMailTaskExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("mail-");
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(task -> () -> {
+            mailPermits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                mailPermits.release();
+            }
+        });
+        return executor;
+    }
+
+    @Bean("mailTaskExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor platformMailTaskExecutor(
+            @Value("${neoping.mail.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("mail-");
+        executor.setCorePoolSize(mailConcurrency);
+        executor.setMaxPoolSize(mailConcurrency);
+        executor.setQueueCapacity(queueCapacity);
+        // A full queue drops the mail instead of throwing into the caller,
+        // whose transaction (a comment, a signup) must not roll back over it
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            droppedMails.increment();
+            log.warn("Mail queue full ({} queued); dropping a mail", pool.getQueue().size());
+        });
+        return executor;
+    }
+
+    // Mails waiting for a sender: virtual threads parked on a permit, or the
+    // pool's queue. queue-capacity bounds the pool and is the health limit
+    // for both.
+    @Bean("mailQueue")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public MailQueueMonitor virtualMailQueue(@Value("${neoping.mail.queue-capacity:1000}") int queueCapacity) {
+        return new MailQueueMonitor(mailPermits::getQueueLength,
+                () -> mailConcurrency - mailPermits.availablePermits(), droppedMails::sum, queueCapacity);
+    }
+
+    @Bean("mailQueue")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public MailQueueMonitor platformMailQueue(@Qualifier("mailTaskExecutor") ThreadPoolTaskExecutor executor,
+            @Value("${neoping.mail.queue-capacity:1000}") int queueCapacity) {
+        return new MailQueueMonitor(executor::getQueueSize, executor::getActiveCount, droppedMails::sum,
+                queueCapacity);
+    }
+}
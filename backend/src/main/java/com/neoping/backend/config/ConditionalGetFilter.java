@@ -0,0 +1,42 @@
+package com.neoping.backend.config;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Conditional GETs for the read endpoints clients keep refreshing. A 2xx
+// response gets a weak ETag over its body, unless the handler already set
+// one, and a request whose If-None-Match still matches gets 304 with no body.
+// Bodies differ per caller (vote flags, membership) and per format (v1/v2),
+// so responses are private and vary by Authorization and Accept; no-cache
+// makes clients revalidate instead of reusing a copy unchecked. Setting
+// Cache-Control here also keeps Spring Security from writing no-store.
+public class ConditionalGetFilter extends ShallowEtagHeaderFilter {
+
+    public ConditionalGetFilter() {
+        setWriteWeakETag(true);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String method = request.getMethod();
+        return !HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        super.doFilterInternal(request, response, filterChain);
+    }
+}
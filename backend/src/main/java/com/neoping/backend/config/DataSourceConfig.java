@@ -0,0 +1,71 @@
+package com.neoping.backend.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// Production datasource: separately sized Hikari pools for writes and
+// read-only transactions, so a burst of feed reads cannot starve writes of
+// connections. Pool settings live under neoping.datasource.{write,read}.hikari
+// in application-prod.properties. Boot's actuator binds hikaricp.* metrics
+// (acquire wait, usage, timeouts, active/idle/pending) for both pools by name.
+@Configuration
+@Profile("prod")
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("neoping.datasource.write.hikari")
+    public HikariDataSource writeDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("neoping.datasource.read.hikari")
+    public HikariDataSource readDataSource(DataSourceProperties properties,
+            @Value("${neoping.datasource.read.url:${spring.datasource.url}}") String url,
+            @Value("${neoping.datasource.read.username:${spring.datasource.username:}}") String username,
+            @Value("${neoping.datasource.read.password:${spring.datasource.password:}}") String password) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource readDataSource,
+            @Value("${neoping.datasource.read.max-lag-ms:2000}") long maxLagMillis,
+            @Value("${neoping.datasource.read.lag-check-ms:1000}") long checkIntervalMillis) {
+        return new ReplicaLagMonitor(readDataSource, maxLagMillis, checkIntervalMillis);
+    }
+
+    @Bean
+    public RecentWriteTracker recentWriteTracker(
+            @Value("${neoping.datasource.read.read-your-writes-ms:5000}") long windowMillis) {
+        return new RecentWriteTracker(windowMillis);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource writeDataSource, HikariDataSource readDataSource,
+            ReplicaLagMonitor replicaLagMonitor, RecentWriteTracker recentWriteTracker) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(replicaLagMonitor, recentWriteTracker);
+        routing.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.Route.WRITE, writeDataSource,
+                ReadWriteRoutingDataSource.Route.READ, readDataSource));
+        routing.setDefaultTargetDataSource(writeDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,144 @@
+package com.neoping.backend.config;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neoping.backend.security.JwtProvider;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Hooks for DiagnosticsFilter: repository calls, mapper calls, handler time
+// and Jackson writing, each recorded into RequestDiagnostics.current(). None
+// of these beans exist unless neoping.diagnostics.enabled=true.
+@Configuration
+@ConditionalOnProperty(name = "neoping.diagnostics.enabled", havingValue = "true")
+public class DiagnosticsConfig {
+
+    @Bean
+    public DiagnosticsFilter diagnosticsFilter(JwtProvider jwtProvider, SqlStatementCounter sqlStatementCounter,
+            ObjectMapper objectMapper, @Value("${neoping.diagnostics.users:}") String users) {
+        Set<String> allowed = Arrays.stream(users.split(","))
+                .map(String::trim)
+                .filter(user -> !user.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        return new DiagnosticsFilter(jwtProvider, sqlStatementCounter, objectMapper, allowed);
+    }
+
+    @Bean
+    public WebMvcConfigurer diagnosticsHandlerTiming() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(@NonNull InterceptorRegistry registry) {
+                registry.addInterceptor(new HandlerInterceptor() {
+                    @Override
+                    public boolean preHandle(@NonNull HttpServletRequest request,
+                            @NonNull HttpServletResponse response, @NonNull Object handler) {
+                        RequestDiagnostics diagnostics = RequestDiagnostics.current();
+                        if (diagnostics != null) {
+                            diagnostics.handlerStarted();
+                        }
+                        return true;
+                    }
+
+                    @Override
+                    public void afterCompletion(@NonNull HttpServletRequest request,
+                            @NonNull HttpServletResponse response, @NonNull Object handler, Exception ex) {
+                        RequestDiagnostics diagnostics = RequestDiagnostics.current();
+                        if (diagnostics != null) {
+                            diagnostics.handlerFinished();
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    // Spring Data already times every repository call for its invocation
+    // listeners (Boot's repository metrics use the same hook)
+    @Bean
+    public static BeanPostProcessor repositoryDiagnostics() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(call -> {
+                        RequestDiagnostics diagnostics = RequestDiagnostics.current();
+                        if (diagnostics != null) {
+                            diagnostics.repositoryCall(call.getRepositoryInterface().getSimpleName() + "."
+                                    + call.getMethod().getName(), call.getDuration(TimeUnit.NANOSECONDS));
+                        }
+                    }));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MapperDiagnostics mapperDiagnostics() {
+        return new MapperDiagnostics();
+    }
+
+    // Replaces Boot's Jackson converter (same ObjectMapper) to time writes
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(@NonNull Object object, Type type, @NonNull HttpOutputMessage outputMessage)
+                    throws IOException {
+                RequestDiagnostics diagnostics = RequestDiagnostics.current();
+                if (diagnostics == null) {
+                    super.writeInternal(object, type, outputMessage);
+                    return;
+                }
+                long start = System.nanoTime();
+                try {
+                    super.writeInternal(object, type, outputMessage);
+                } finally {
+                    diagnostics.jsonWritten(System.nanoTime() - start);
+                }
+            }
+        };
+    }
+
+    @Aspect
+    static class MapperDiagnostics {
+
+        @Around("execution(public * com.neoping.backend.mapper..*(..))")
+        public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+            RequestDiagnostics diagnostics = RequestDiagnostics.current();
+            if (diagnostics == null) {
+                return joinPoint.proceed();
+            }
+            boolean outermost = diagnostics.mappingStarted();
+            long start = System.nanoTime();
+            try {
+                return joinPoint.proceed();
+            } finally {
+                diagnostics.mappingFinished(outermost, System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.neoping.backend.config;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.neoping.backend.security.JwtProvider;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Diagnoses a request that sends "X-Diagnostics: true" with the token of a
+// user listed in neoping.diagnostics.users. The response gets a Server-Timing
+// header and, when it is a JSON object, a "_diagnostics" block. Only these
+// requests are buffered, so the header can follow the JSON it times.
+// Runs inside RequestMetricsFilter, so the SQL count covers the JWT filter.
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+@Slf4j
+public class DiagnosticsFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "X-Diagnostics";
+
+    private final JwtProvider jwtProvider;
+    private final SqlStatementCounter sqlStatementCounter;
+    private final ObjectMapper objectMapper;
+    private final Set<String> users;
+
+    public DiagnosticsFilter(JwtProvider jwtProvider, SqlStatementCounter sqlStatementCounter,
+            ObjectMapper objectMapper, Set<String> users) {
+        this.jwtProvider = jwtProvider;
+        this.sqlStatementCounter = sqlStatementCounter;
+        this.objectMapper = objectMapper;
+        this.users = users;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (!"true".equalsIgnoreCase(request.getHeader(HEADER)) || !isAllowed(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        RequestDiagnostics diagnostics = RequestDiagnostics.start(sqlStatementCounter.current());
+        try {
+            filterChain.doFilter(request, buffered);
+        } finally {
+            RequestDiagnostics.clear();
+            int statements = sqlStatementCounter.current();
+            buffered.setHeader("Server-Timing", diagnostics.serverTiming(statements));
+            appendBlock(buffered, diagnostics.toMap(statements));
+            buffered.copyBodyToResponse();
+        }
+    }
+
+    // Streams cannot be buffered; everyone else needs a listed user's token
+    private boolean isAllowed(HttpServletRequest request) {
+        String accept = request.getHeader("Accept");
+        if (accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE)) {
+            return false;
+        }
+        String token = request.getHeader("Authorization");
+        if (!StringUtils.hasText(token)) {
+            return false;
+        }
+        token = token.startsWith("Bearer ") ? token.substring(7) : token;
+        try {
+            return jwtProvider.validateToken(token) && users.contains(jwtProvider.getUsernameFromJwt(token));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void appendBlock(ContentCachingResponseWrapper response, Map<String, Object> block) {
+        String contentType = response.getContentType();
+        byte[] body = response.getContentAsByteArray();
+        if (contentType == null || !contentType.contains("json") || body.length == 0 || body[0] != '{') {
+            return;
+        }
+        try {
+            JsonNode json = objectMapper.readTree(body);
+            if (json instanceof ObjectNode object) {
+                object.set("_diagnostics", objectMapper.valueToTree(block));
+                response.resetBuffer();
+                response.getOutputStream().write(objectMapper.writeValueAsBytes(object));
+            }
+        } catch (IOException e) {
+            log.debug("Response left without a diagnostics block: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.neoping.backend.config;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+// Logback turbo filter, configured in logback-spring.xml: caps how many
+// WARN-and-below events each logger may emit per second, and optionally keeps
+// only one event in N for noisy loggers. Both are set per logger name prefix
+// ("com.neoping.backend.security=20"), the longest prefix winning. ERROR is
+// never dropped. Events are refused before a message is formatted or queued,
+// so a flood costs a counter increment per call.
+public class LogRateLimitFilter extends TurboFilter {
+
+    private static final LongAdder DROPPED = new LongAdder();
+
+    private int defaultPerSecond;
+    private final Map<String, Integer> perSecond = new TreeMap<>();
+    private final Map<String, Integer> sampling = new TreeMap<>();
+    private final Map<String, Budget> budgets = new ConcurrentHashMap<>();
+
+    // Events refused since startup, across all loggers
+    public static long droppedEvents() {
+        return DROPPED.sum();
+    }
+
+    // Per-logger limit when no prefix matches; 0 means unlimited
+    public void setDefaultPerSecond(int defaultPerSecond) {
+        this.defaultPerSecond = defaultPerSecond;
+    }
+
+    // "prefix=eventsPerSecond,..."
+    public void setLimits(String limits) {
+        parse(limits, perSecond);
+    }
+
+    // "prefix=N,...": keep one event in N
+    public void setSampling(String rates) {
+        parse(rates, sampling);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+            Throwable t) {
+        // A null format is an isXxxEnabled() check, not an event
+        if (!isStarted() || format == null || level.levelInt >= Level.ERROR_INT
+                || level.levelInt < logger.getEffectiveLevel().levelInt) {
+            return FilterReply.NEUTRAL;
+        }
+        if (budgets.computeIfAbsent(logger.getName(), this::budgetFor).allow()) {
+            return FilterReply.NEUTRAL;
+        }
+        DROPPED.increment();
+        return FilterReply.DENY;
+    }
+
+    private Budget budgetFor(String loggerName) {
+        Integer limit = lookup(perSecond, loggerName);
+        Integer every = lookup(sampling, loggerName);
+        return new Budget(limit != null ? limit : defaultPerSecond, every != null ? every : 1);
+    }
+
+    private static Integer lookup(Map<String, Integer> byPrefix, String loggerName) {
+        String best = null;
+        for (String prefix : byPrefix.keySet()) {
+            boolean matches = loggerName.equals(prefix) || loggerName.startsWith(prefix + ".");
+            if (matches && (best == null || prefix.length() > best.length())) {
+                best = prefix;
+            }
+        }
+        return best != null ? byPrefix.get(best) : null;
+    }
+
+    private void parse(String entries, Map<String, Integer> into) {
+        if (entries == null) {
+            return;
+        }
+        for (String entry : entries.split(",")) {
+            int eq = entry.indexOf('=');
+            if (eq <= 0) {
+                continue;
+            }
+            try {
+                into.put(entry.substring(0, eq).trim(), Integer.parseInt(entry.substring(eq + 1).trim()));
+            } catch (NumberFormatException e) {
+                addWarn("Ignoring log limit '" + entry.trim() + "'");
+            }
+        }
+    }
+
+    // One-second window per logger. Two threads can both reset the window at
+    // a second boundary, letting a few extra events through; that is fine
+    // for a safety valve.
+    private static final class Budget {
+        private final int perSecond;
+        private final int sampleEvery;
+        private final AtomicLong sequence = new AtomicLong();
+        private final AtomicInteger inWindow = new AtomicInteger();
+        private volatile long window;
+
+        private Budget(int perSecond, int sampleEvery) {
+            this.perSecond = perSecond;
+            this.sampleEvery = Math.max(1, sampleEvery);
+        }
+
+        private boolean allow() {
+            if (sampleEvery > 1 && sequence.getAndIncrement() % sampleEvery != 0) {
+                return false;
+            }
+            if (perSecond <= 0) {
+                return true;
+            }
+            long second = System.currentTimeMillis() / 1000;
+            if (second != window) {
+                window = second;
+                inWindow.set(0);
+            }
+            return inWindow.incrementAndGet() <= perSecond;
+        }
+    }
+}
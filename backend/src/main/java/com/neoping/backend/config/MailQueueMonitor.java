@@ -0,0 +1,57 @@
+package com.neoping.backend.config;
+
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Depth of the outgoing mail backlog, whichever executor sends it. Published
+// as neoping.mail.queued / neoping.mail.active / neoping.mail.dropped, and
+// reported DOWN in /actuator/health once the backlog reaches capacity: past
+// that point the pool drops new mail, and on virtual threads verification
+// mails are already minutes late. Not part of readiness, since mail is a
+// side channel.
+public class MailQueueMonitor implements HealthIndicator, MeterBinder {
+
+    private final IntSupplier queued;
+    private final IntSupplier active;
+    private final LongSupplier dropped;
+    private final int capacity;
+
+    public MailQueueMonitor(IntSupplier queued, IntSupplier active, LongSupplier dropped, int capacity) {
+        this.queued = queued;
+        this.active = active;
+        this.dropped = dropped;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public Health health() {
+        int depth = queued.getAsInt();
+        Health.Builder health = depth < capacity ? Health.up() : Health.down();
+        return health.withDetail("queued", depth)
+                .withDetail("active", active.getAsInt())
+                .withDetail("dropped", dropped.getAsLong())
+                .withDetail("capacity", capacity)
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("neoping.mail.queued", queued, IntSupplier::getAsInt)
+                .description("Mails waiting for a sender")
+                .register(registry);
+        Gauge.builder("neoping.mail.active", active, IntSupplier::getAsInt)
+                .description("Mails being sent")
+                .register(registry);
+        FunctionCounter.builder("neoping.mail.dropped", dropped, LongSupplier::getAsLong)
+                .description("Mails dropped because the queue was full")
+                .register(registry);
+    }
+}
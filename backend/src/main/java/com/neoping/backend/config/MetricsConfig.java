@@ -0,0 +1,34 @@
+package com.neoping.backend.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Application meters beyond Boot's defaults. Everything is scraped from
+// /actuator/prometheus; percentile histograms are switched on per meter with
+// management.metrics.distribution.* in application.properties.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounting(SqlStatementCounter sqlStatementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter);
+    }
+
+    @Bean
+    public MeterBinder droppedLogEvents() {
+        return registry -> FunctionCounter.builder("neoping.logging.dropped", this,
+                config -> LogRateLimitFilter.droppedEvents())
+                .description("Log events refused by the per-logger rate limits")
+                .register(registry);
+    }
+}
@@ -0,0 +1,64 @@
+package com.neoping.backend.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Sends @Transactional(readOnly = true) work to the replica pool and everything
+// else to the primary. Reads fall back to the primary while the replica is
+// lagging or unreachable, and for a short window after the current user's own
+// writes so they always see what they just posted. Must sit behind a
+// LazyConnectionDataSourceProxy so the read-only flag is already set when the
+// physical connection is chosen.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        WRITE, READ
+    }
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final RecentWriteTracker recentWriteTracker;
+
+    public ReadWriteRoutingDataSource(ReplicaLagMonitor replicaLagMonitor, RecentWriteTracker recentWriteTracker) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.recentWriteTracker = recentWriteTracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String username = currentUsername();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteOnCommit(username);
+            return Route.WRITE;
+        }
+        if (!replicaLagMonitor.isReplicaUsable() || recentWriteTracker.wroteRecently(username)) {
+            return Route.WRITE;
+        }
+        return Route.READ;
+    }
+
+    // Any read-write transaction counts as a write, which is why read paths
+    // must be marked readOnly to benefit from the replica
+    private void recordWriteOnCommit(String username) {
+        if (username == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriteTracker.recordWrite(username);
+            }
+        });
+    }
+
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,37 @@
+package com.neoping.backend.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+// Remembers which users committed a write in the last few seconds so their
+// reads stay on the primary until the replica has caught up. The window is
+// per instance; it should be at least the replica lag limit.
+public class RecentWriteTracker {
+
+    private final Map<String, Long> writeWindowEnds = new ConcurrentHashMap<>();
+    private final long windowMillis;
+
+    public RecentWriteTracker(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    public void recordWrite(String username) {
+        writeWindowEnds.put(username, System.currentTimeMillis() + windowMillis);
+    }
+
+    public boolean wroteRecently(String username) {
+        if (username == null) {
+            return false;
+        }
+        Long windowEnd = writeWindowEnds.get(username);
+        return windowEnd != null && windowEnd > System.currentTimeMillis();
+    }
+
+    @Scheduled(fixedDelayString = "${neoping.datasource.read.read-your-writes-ms:5000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        writeWindowEnds.values().removeIf(windowEnd -> windowEnd <= now);
+    }
+}
@@ -0,0 +1,107 @@
+package com.neoping.backend.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Polls the replica's replication status and only lets reads through while the
+// lag is known and under the limit. A replica that is broken, unreachable,
+// behind, not replicating at all (including a read URL that points at the
+// primary itself), or simply not checked recently is treated as unusable and
+// reads go to the primary.
+@Slf4j
+public class ReplicaLagMonitor implements MeterBinder {
+
+    private static final String SOURCE_LAG_COLUMN = "Seconds_Behind_Source";
+    private static final String MASTER_LAG_COLUMN = "Seconds_Behind_Master";
+
+    private final DataSource replica;
+    private final long maxLagMillis;
+    private final long checkIntervalMillis;
+
+    private volatile long usableUntil;
+    private volatile long lagMillis = -1;
+    private volatile boolean legacyStatusSyntax;
+
+    public ReplicaLagMonitor(DataSource replica, long maxLagMillis, long checkIntervalMillis) {
+        this.replica = replica;
+        this.maxLagMillis = maxLagMillis;
+        this.checkIntervalMillis = checkIntervalMillis;
+    }
+
+    public boolean isReplicaUsable() {
+        return System.currentTimeMillis() < usableUntil;
+    }
+
+    @Scheduled(fixedDelayString = "${neoping.datasource.read.lag-check-ms:1000}")
+    public void check() {
+        long lag;
+        try {
+            lag = readLagMillis();
+        } catch (SQLException e) {
+            log.warn("Replica status check failed, reading from primary: {}", e.getMessage());
+            lag = -1;
+        }
+        lagMillis = lag;
+        if (lag >= 0 && lag <= maxLagMillis) {
+            // Stays usable for a few missed checks, not indefinitely
+            usableUntil = System.currentTimeMillis() + 3 * checkIntervalMillis;
+        } else {
+            usableUntil = 0;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("neoping.datasource.replica.lag", this, m -> m.lagMillis < 0 ? -1 : m.lagMillis / 1000.0)
+                .description("Replica lag behind the primary; -1 when unknown")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    // Lag in milliseconds, or -1 when replication is not running
+    private long readLagMillis() throws SQLException {
+        try (Connection connection = replica.getConnection(); Statement statement = connection.createStatement()) {
+            ResultSet status;
+            try {
+                status = statement.executeQuery(legacyStatusSyntax ? "SHOW SLAVE STATUS" : "SHOW REPLICA STATUS");
+            } catch (SQLSyntaxErrorException e) {
+                // MySQL before 8.0.22 and MariaDB before 10.5
+                legacyStatusSyntax = true;
+                status = statement.executeQuery("SHOW SLAVE STATUS");
+            }
+            try (ResultSet rs = status) {
+                if (!rs.next()) {
+                    return -1; // no replication configured
+                }
+                long seconds = rs.getLong(lagColumn(rs.getMetaData()));
+                return rs.wasNull() ? -1 : seconds * 1000;
+            }
+        }
+    }
+
+    // MySQL 8.0.22+ names the column Seconds_Behind_Source; older MySQL and
+    // every MariaDB (which also accepts SHOW REPLICA STATUS) keep
+    // Seconds_Behind_Master, so the result set decides, not the statement
+    private static String lagColumn(ResultSetMetaData metadata) throws SQLException {
+        for (int i = 1; i <= metadata.getColumnCount(); i++) {
+            if (SOURCE_LAG_COLUMN.equalsIgnoreCase(metadata.getColumnLabel(i))) {
+                return SOURCE_LAG_COLUMN;
+            }
+        }
+        return MASTER_LAG_COLUMN;
+    }
+}
@@ -0,0 +1,139 @@
+package com.neoping.backend.config;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Timings for one diagnosed request, reachable from the request thread while
+// it runs. current() is null for every other request, so the hooks in
+// DiagnosticsConfig cost a ThreadLocal read when a request is not being
+// diagnosed, and nothing at all while neoping.diagnostics.enabled is off.
+public final class RequestDiagnostics {
+
+    private static final int MAX_CALLS = 200;
+    private static final ThreadLocal<RequestDiagnostics> CURRENT = new ThreadLocal<>();
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private final long startNanos = System.nanoTime();
+    private final long startAllocated = allocatedBytes();
+    private final int startStatements;
+    private long handlerStart;
+    private long handlerNanos;
+    private long repositoryNanos;
+    private int repositoryCount;
+    private long mappingNanos;
+    private int mappingCount;
+    private int mappingDepth;
+    private long jsonNanos;
+    private final List<Map<String, Object>> repositoryCalls = new ArrayList<>();
+
+    private RequestDiagnostics(int startStatements) {
+        this.startStatements = startStatements;
+    }
+
+    public static RequestDiagnostics current() {
+        return CURRENT.get();
+    }
+
+    static RequestDiagnostics start(int statements) {
+        RequestDiagnostics diagnostics = new RequestDiagnostics(statements);
+        CURRENT.set(diagnostics);
+        return diagnostics;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    void handlerStarted() {
+        handlerStart = System.nanoTime();
+    }
+
+    void handlerFinished() {
+        if (handlerStart != 0) {
+            handlerNanos = System.nanoTime() - handlerStart;
+        }
+    }
+
+    void repositoryCall(String name, long nanos) {
+        repositoryNanos += nanos;
+        repositoryCount++;
+        if (repositoryCalls.size() < MAX_CALLS) {
+            Map<String, Object> call = new LinkedHashMap<>();
+            call.put("method", name);
+            call.put("ms", millis(nanos));
+            repositoryCalls.add(call);
+        }
+    }
+
+    // Nested mapper calls (PostMapper delegating to another mapper bean)
+    // count once, as part of the outermost call
+    boolean mappingStarted() {
+        return mappingDepth++ == 0;
+    }
+
+    void mappingFinished(boolean outermost, long nanos) {
+        mappingDepth--;
+        if (outermost) {
+            mappingNanos += nanos;
+            mappingCount++;
+        }
+    }
+
+    void jsonWritten(long nanos) {
+        jsonNanos += nanos;
+    }
+
+    // Server-Timing header value: durations in milliseconds, counts in desc
+    String serverTiming(int statements) {
+        long total = System.nanoTime() - startNanos;
+        StringBuilder header = new StringBuilder()
+                .append("total;dur=").append(millis(total))
+                .append(", filters;dur=").append(millis(total - handlerNanos))
+                .append(", handler;dur=").append(millis(handlerNanos))
+                .append(", repository;dur=").append(millis(repositoryNanos))
+                .append(";desc=\"").append(repositoryCount).append(" calls\"")
+                .append(", mapping;dur=").append(millis(mappingNanos))
+                .append(";desc=\"").append(mappingCount).append(" calls\"")
+                .append(", json;dur=").append(millis(jsonNanos))
+                .append(", sql;desc=\"").append(statements - startStatements).append(" statements\"");
+        long allocated = allocatedBytes();
+        if (allocated >= 0 && startAllocated >= 0) {
+            header.append(", alloc;desc=\"").append(allocated - startAllocated).append(" bytes\"");
+        }
+        return header.toString();
+    }
+
+    // The same figures for the response's "_diagnostics" block, plus each
+    // repository call in order
+    Map<String, Object> toMap(int statements) {
+        long allocated = allocatedBytes();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("totalMs", millis(System.nanoTime() - startNanos));
+        map.put("handlerMs", millis(handlerNanos));
+        map.put("repositoryMs", millis(repositoryNanos));
+        map.put("mappingMs", millis(mappingNanos));
+        map.put("jsonMs", millis(jsonNanos));
+        map.put("sqlStatements", statements - startStatements);
+        map.put("allocatedBytes", allocated >= 0 && startAllocated >= 0 ? allocated - startAllocated : null);
+        map.put("repositoryCalls", repositoryCalls);
+        return map;
+    }
+
+    // Milliseconds to two decimals
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    // -1 where the JVM cannot measure it (no HotSpot bean, or a virtual thread)
+    private static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        return ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled() ? bean : null;
+    }
+}
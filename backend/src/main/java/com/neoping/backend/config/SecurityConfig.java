@@ -30,6 +30,7 @@ public class SecurityConfig {
 
     private final UserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final ManagementPortRequestMatcher managementPort;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -72,6 +73,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // ✅ Allow public access to health and status endpoints
                         .requestMatchers("/api/health", "/api/status").permitAll()
+                        // Probes and the metrics scrape, on the management port only
+                        .requestMatchers(managementPort).permitAll()
 
                         // ✅ Allow public access to authentication endpoints (login, signup, etc.)
                         .requestMatchers("/api/auth/login", "/api/auth/signup", "/api/auth/refresh/token",
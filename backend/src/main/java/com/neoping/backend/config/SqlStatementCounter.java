@@ -0,0 +1,53 @@
+package com.neoping.backend.config;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Sees every SQL statement Hibernate prepares (JPQL, derived and native
+// queries, flushes) and counts it in total and for the request running on
+// the current thread. Plain JdbcTemplate calls are not seen.
+public class SqlStatementCounter implements StatementInspector, MeterBinder {
+
+    private final LongAdder total = new LongAdder();
+    private final ThreadLocal<int[]> current = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        total.increment();
+        int[] count = current.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    // Starts counting for the current thread
+    public void start() {
+        current.set(new int[1]);
+    }
+
+    // Statements since start() so far, 0 when not counting
+    public int current() {
+        int[] count = current.get();
+        return count != null ? count[0] : 0;
+    }
+
+    // Statements since start(), and stops counting
+    public int stop() {
+        int[] count = current.get();
+        current.remove();
+        return count != null ? count[0] : 0;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("neoping.jpa.statements", total, LongAdder::sum)
+                .description("SQL statements prepared by Hibernate")
+                .register(registry);
+    }
+}
@@ -1,7 +1,9 @@
 package com.neoping.backend.config;
 
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -28,4 +30,16 @@ public class WebConfig {
             }
         };
     }
+
+    // ETags and 304s on the feed, news, video, community and profile reads.
+    // Runs outside the security chain so it sees the final headers and body.
+    @Bean
+    public FilterRegistrationBean<ConditionalGetFilter> conditionalGetFilter() {
+        FilterRegistrationBean<ConditionalGetFilter> registration = new FilterRegistrationBean<>(
+                new ConditionalGetFilter());
+        registration.addUrlPatterns("/api/posts/*", "/api/v2/posts/*", "/api/news/*", "/api/videos/*",
+                "/api/communities/*", "/api/profile/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 4);
+        return registration;
+    }
 }
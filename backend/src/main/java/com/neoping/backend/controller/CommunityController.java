@@ -1,18 +1,24 @@
 package com.neoping.backend.controller;
 
 import java.security.Principal;
-import java.util.List;
+import java.util.Collections;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.neoping.backend.dto.CommunityDto;
+import com.neoping.backend.dto.CommunityListResponse;
+import com.neoping.backend.dto.PostListResponse;
+import com.neoping.backend.service.CommunityDirectoryService;
 import com.neoping.backend.service.CommunityService;
+import com.neoping.backend.service.PostService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,6 +27,8 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class CommunityController {
     private final CommunityService communityService;
+    private final PostService postService;
+    private final CommunityDirectoryService communityDirectoryService;
 
     @PostMapping
     public ResponseEntity<CommunityDto> createCommunity(@RequestBody CommunityDto dto, Principal principal) {
@@ -29,13 +37,60 @@ public class CommunityController {
         return ResponseEntity.status(201).body(created);
     }
 
+    // GET /api/communities?sort=members&offset=0&limit=20 — directory page;
+    // sort is members (default), newest or name
     @GetMapping
-    public ResponseEntity<List<CommunityDto>> getAllCommunities() {
-        return ResponseEntity.ok(communityService.getAllCommunities());
+    public ResponseEntity<CommunityListResponse> getCommunities(
+            @RequestParam(defaultValue = "members") String sort,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "20") int limit) {
+        CommunityDirectoryService.Sort order;
+        try {
+            order = CommunityDirectoryService.Sort.valueOf(sort.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(CommunityListResponse.builder()
+                    .communities(Collections.emptyList())
+                    .limit(limit)
+                    .offset(offset)
+                    .success(false)
+                    .error("sort must be one of members, newest, name")
+                    .build());
+        }
+        return ResponseEntity.ok(communityDirectoryService.page(order, offset, limit));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<CommunityDto> getCommunity(@PathVariable Long id) {
         return ResponseEntity.ok(communityService.getCommunity(id));
     }
+
+    // GET /api/communities/{id}/posts?limit=20&cursor=... — newest first;
+    // follow nextCursor while hasMore is true
+    @GetMapping("/{id}/posts")
+    public ResponseEntity<PostListResponse> getCommunityPosts(@PathVariable Long id,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor) {
+        try {
+            return ResponseEntity.ok(postService.getCommunityFeed(id, limit, cursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(PostListResponse.builder()
+                    .posts(Collections.emptyList())
+                    .limit(limit)
+                    .success(false)
+                    .error(e.getMessage())
+                    .build());
+        }
+    }
+
+    // POST /api/communities/{id}/members — join
+    @PostMapping("/{id}/members")
+    public ResponseEntity<CommunityDto> join(@PathVariable Long id, Principal principal) {
+        return ResponseEntity.ok(communityService.join(id, principal.getName()));
+    }
+
+    // DELETE /api/communities/{id}/members — leave
+    @DeleteMapping("/{id}/members")
+    public ResponseEntity<CommunityDto> leave(@PathVariable Long id, Principal principal) {
+        return ResponseEntity.ok(communityService.leave(id, principal.getName()));
+    }
 }
@@ -2,14 +2,21 @@ package com.neoping.backend.controller;
 
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.springframework.boot.actuate.health.CompositeHealth;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @RestController
@@ -20,33 +27,36 @@ import lombok.extern.slf4j.Slf4j;
         "http://192.168.100.6:19000",
         "exp://192.168.100.6:8081"
 })
+@RequiredArgsConstructor
 @Slf4j
 public class HealthController {
 
-    // GET /api/health - Critical for your frontend connection testing
+    private final HealthEndpoint healthEndpoint;
+
+    // GET /api/health - Readiness probe: the database, as configured in
+    // management.endpoint.health.group.readiness. 503 while
+    // any check is not UP, so load balancers stop routing here.
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> health() {
-        try {
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "healthy");
-            response.put("message", "NeoPing backend is running");
-            response.put("timestamp", Instant.now());
-            response.put("version", "1.0.0");
-
-            log.info("✅ Health check passed");
-            return ResponseEntity.ok(response);
-
-        } catch (Exception e) {
-            log.error("❌ Health check failed: {}", e.getMessage());
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "unhealthy");
-            response.put("message", "Backend service error");
-            response.put("timestamp", Instant.now());
-            response.put("error", e.getMessage());
-
-            return ResponseEntity.status(500).body(response);
+        HealthComponent readiness = healthEndpoint.healthForPath("readiness");
+        Map<String, Object> checks = new LinkedHashMap<>();
+        if (readiness instanceof CompositeHealth composite) {
+            composite.getComponents().forEach((name, check) -> checks.put(name, check.getStatus().getCode()));
+        }
+        boolean healthy = readiness != null && Status.UP.equals(readiness.getStatus());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", healthy ? "healthy" : "unhealthy");
+        response.put("message", healthy ? "NeoPing backend is running" : "NeoPing backend is not ready");
+        response.put("checks", checks);
+        response.put("timestamp", Instant.now());
+        response.put("version", "1.0.0");
+
+        if (!healthy) {
+            log.warn("Readiness check failed: {}", checks);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
         }
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/status")
@@ -1,16 +1,20 @@
 package com.neoping.backend.controller;
 
 import java.security.Principal;
-import java.util.List;
+import java.util.Map;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import com.neoping.backend.dto.NotificationDto;
+import com.neoping.backend.dto.NotificationListResponse;
 import com.neoping.backend.service.NotificationService;
 
 import lombok.RequiredArgsConstructor;
@@ -21,10 +25,31 @@ import lombok.RequiredArgsConstructor;
 public class NotificationController {
     private final NotificationService notificationService;
 
+    // GET /api/notifications?limit=20&before={id}&since={id}
     @GetMapping
-    public ResponseEntity<List<NotificationDto>> getNotifications(Principal principal) {
+    public ResponseEntity<NotificationListResponse> getNotifications(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Long since,
+            Principal principal) {
         String username = principal.getName();
-        return ResponseEntity.ok(notificationService.getNotificationsForUser(username));
+        return ResponseEntity.ok(notificationService.getNotificationsForUser(username, limit, before, since));
+    }
+
+    // GET /api/notifications/unread-count — cheap badge polling
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Long>> getUnreadCount(Principal principal) {
+        String username = principal.getName();
+        return ResponseEntity.ok(Map.of("unreadCount", notificationService.getUnreadCount(username)));
+    }
+
+    // GET /api/notifications/stream — Server-Sent Events; reconnect with
+    // Last-Event-ID to resume where the previous connection stopped
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            Principal principal) {
+        return notificationService.subscribe(principal.getName(), lastEventId);
     }
 
     @PostMapping("/mark-read")
@@ -5,6 +5,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -24,6 +25,7 @@ import com.neoping.backend.dto.PostRequest;
 import com.neoping.backend.dto.PostResponse;
 import com.neoping.backend.service.AuthService;
 import com.neoping.backend.service.CommentService;
+import com.neoping.backend.service.HomeFeedService;
 import com.neoping.backend.service.PostService;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -45,6 +47,7 @@ public class PostController {
 
     private final AuthService authService;
     private final CommentService commentService;
+    private final HomeFeedService homeFeedService;
 
     // PUT /api/posts/{id} — Update a post
     @PutMapping("/{id}")
@@ -54,6 +57,9 @@ public class PostController {
             String currentUsername = authService.getCurrentUser().getUsername();
             PostResponse updated = postService.updatePost(id, postRequest, currentUsername);
             return ResponseEntity.ok(updated);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "Post was modified by another request; reload it and try again"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "Failed to update post: " + e.getMessage()));
@@ -76,24 +82,15 @@ public class PostController {
             @RequestParam(required = false) String category,
             HttpServletRequest request) {
         try {
-            log.info("📡 Getting all posts - limit: {}, offset: {}, category: {}", limit, offset, category);
+            log.debug("Getting all posts - limit: {}, offset: {}, category: {}", limit, offset, category);
             String currentUsername = null;
             try {
                 currentUsername = authService.getCurrentUser().getUsername();
             } catch (Exception e) {
                 log.debug("User not authenticated, showing public posts");
             }
-            List<PostResponse> posts = postService.getAllPosts(limit, offset, category, currentUsername);
-            int total = postService.getTotalPostsCount(category);
-            PostListResponse response = PostListResponse.builder()
-                    .posts(posts)
-                    .total(total)
-                    .limit(limit)
-                    .offset(offset)
-                    .hasMore(offset + limit < total)
-                    .success(true)
-                    .build();
-            log.info("✅ Found {} posts", posts.size());
+            PostListResponse response = postService.getPostPage(limit, offset, category, currentUsername);
+            log.debug("Found {} posts", response.getPosts().size());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("❌ Error getting posts: {}", e.getMessage(), e);
@@ -113,7 +110,7 @@ public class PostController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getPostById(@PathVariable Long id, HttpServletRequest request) {
         try {
-            log.info("🎯 Getting post by ID: {}", id);
+            log.debug("Getting post by ID: {}", id);
             String currentUsername = null;
             try {
                 currentUsername = authService.getCurrentUser().getUsername();
@@ -149,6 +146,25 @@ public class PostController {
         }
     }
 
+    // GET /api/posts/home?limit=20&cursor=... — Posts from the caller's
+    // communities, newest first; follow nextCursor while hasMore is true
+    @GetMapping("/home")
+    public ResponseEntity<PostListResponse> getHomeFeed(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor) {
+        try {
+            String username = authService.getCurrentUser().getUsername();
+            return ResponseEntity.ok(homeFeedService.getHomeFeed(username, limit, cursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(PostListResponse.builder()
+                    .posts(Collections.emptyList())
+                    .limit(limit)
+                    .success(false)
+                    .error(e.getMessage())
+                    .build());
+        }
+    }
+
     // GET /api/posts/popular — Get popular posts (sorted by vote count)
     @GetMapping("/popular")
     public ResponseEntity<List<PostResponse>> getPopularPosts(
@@ -186,23 +202,14 @@ public class PostController {
             @RequestParam(defaultValue = "0") int offset,
             HttpServletRequest request) {
         try {
-            log.info("� Getting posts by category: {} - limit: {}, offset: {}", category, limit, offset);
+            log.debug("Getting posts by category: {} - limit: {}, offset: {}", category, limit, offset);
             String currentUsername = null;
             try {
                 currentUsername = authService.getCurrentUser().getUsername();
             } catch (Exception e) {
                 log.debug("User not authenticated, showing public posts");
             }
-            List<PostResponse> posts = postService.getPostsByCategory(category, limit, offset, currentUsername);
-            int total = postService.getTotalPostsByCategoryCount(category);
-            PostListResponse response = PostListResponse.builder()
-                    .posts(posts)
-                    .total(total)
-                    .limit(limit)
-                    .offset(offset)
-                    .hasMore(offset + limit < total)
-                    .success(true)
-                    .build();
+            PostListResponse response = postService.getPostPage(limit, offset, category, currentUsername);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("❌ Error getting posts by category: {}", e.getMessage(), e);
@@ -0,0 +1,83 @@
+package com.neoping.backend.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.neoping.backend.dto.ErrorResponse;
+import com.neoping.backend.dto.v2.PostPageV2;
+import com.neoping.backend.dto.v2.PostV2;
+import com.neoping.backend.mapper.PostV2Mapper;
+import com.neoping.backend.service.AuthService;
+import com.neoping.backend.service.HomeFeedService;
+import com.neoping.backend.service.PostService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AllArgsConstructor;
+
+// Compact (v2) post feeds, negotiated either by path (/api/v2/posts/...) or
+// by "Accept: application/vnd.neoping.v2+json" on the v1 paths. Requests
+// that accept application/json or */* on a v1 path still get v1.
+@RestController
+@AllArgsConstructor
+@CrossOrigin(origins = {
+        "http://localhost:8081",
+        "http://192.168.100.6:8081",
+        "http://192.168.100.6:19000",
+        "exp://192.168.100.6:8081"
+})
+public class PostV2Controller {
+
+    public static final String MEDIA_TYPE = "application/vnd.neoping.v2+json";
+
+    private final PostService postService;
+    private final HomeFeedService homeFeedService;
+    private final AuthService authService;
+    private final PostV2Mapper postV2Mapper;
+
+    // GET /api/v2/posts?limit=20&offset=0&category=...
+    @GetMapping(path = { "/api/v2/posts", "/api/posts" }, produces = MEDIA_TYPE)
+    public PostPageV2 getAllPosts(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) String category) {
+        return postV2Mapper.toV2(postService.getPostPage(limit, offset, category, null));
+    }
+
+    // GET /api/v2/posts/home?limit=20&cursor=... — keyset paged, no total
+    @GetMapping(path = { "/api/v2/posts/home", "/api/posts/home" }, produces = MEDIA_TYPE)
+    public ResponseEntity<?> getHomeFeed(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor,
+            HttpServletRequest request) {
+        try {
+            String username = authService.getCurrentUser().getUsername();
+            PostPageV2 page = postV2Mapper.toV2(homeFeedService.getHomeFeed(username, limit, cursor));
+            page.setTotal(null);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), e.getMessage(), request.getRequestURI()));
+        }
+    }
+
+    // GET /api/v2/posts/category/{category}?limit=20&offset=0
+    @GetMapping(path = { "/api/v2/posts/category/{category}", "/api/posts/category/{category}" },
+            produces = MEDIA_TYPE)
+    public PostPageV2 getPostsByCategory(
+            @PathVariable String category,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "0") int offset) {
+        return postV2Mapper.toV2(postService.getPostPage(limit, offset, category, null));
+    }
+
+    // GET /api/v2/posts/{id}
+    @GetMapping(path = { "/api/v2/posts/{id}", "/api/posts/{id}" }, produces = MEDIA_TYPE)
+    public PostV2 getPostById(@PathVariable Long id) {
+        return postV2Mapper.toV2(postService.getPostById(id, null));
+    }
+}
@@ -0,0 +1,53 @@
+package com.neoping.backend.controller;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.neoping.backend.dto.SearchResponse;
+import com.neoping.backend.service.SearchIndexService;
+import com.neoping.backend.service.SearchService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+    private final SearchService searchService;
+
+    // GET /api/search?q=spring&limit=20&types=post,community
+    @GetMapping
+    public ResponseEntity<SearchResponse> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) Set<String> types) {
+        if (!searchService.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(SearchResponse.builder()
+                    .query(q)
+                    .success(false)
+                    .error("Search index is still being built")
+                    .build());
+        }
+        return ResponseEntity.ok(searchService.search(q, parseTypes(types), limit));
+    }
+
+    // Unknown type names are ignored; none means every type
+    private Set<SearchIndexService.Type> parseTypes(Set<String> types) {
+        Set<SearchIndexService.Type> parsed = EnumSet.noneOf(SearchIndexService.Type.class);
+        if (types != null) {
+            for (SearchIndexService.Type type : SearchIndexService.Type.values()) {
+                if (types.stream().anyMatch(t -> t.trim().equalsIgnoreCase(type.name()))) {
+                    parsed.add(type);
+                }
+            }
+        }
+        return parsed.isEmpty() ? EnumSet.allOf(SearchIndexService.Type.class) : parsed;
+    }
+}
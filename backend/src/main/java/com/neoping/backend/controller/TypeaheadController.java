@@ -0,0 +1,45 @@
+package com.neoping.backend.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.neoping.backend.dto.TypeaheadSuggestionDto;
+import com.neoping.backend.service.TypeaheadService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/typeahead")
+@RequiredArgsConstructor
+public class TypeaheadController {
+    private final TypeaheadService typeaheadService;
+
+    // GET /api/typeahead/users?q=jo&limit=10 — @mention picker
+    @GetMapping("/users")
+    public ResponseEntity<List<TypeaheadSuggestionDto>> completeUsers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return complete(TypeaheadService.Type.USER, q, limit);
+    }
+
+    // GET /api/typeahead/communities?q=ja&limit=10 — community picker
+    @GetMapping("/communities")
+    public ResponseEntity<List<TypeaheadSuggestionDto>> completeCommunities(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return complete(TypeaheadService.Type.COMMUNITY, q, limit);
+    }
+
+    private ResponseEntity<List<TypeaheadSuggestionDto>> complete(TypeaheadService.Type type, String q, int limit) {
+        if (!typeaheadService.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(typeaheadService.complete(type, q, limit));
+    }
+}
@@ -17,5 +17,6 @@ public class CommentDto {
     private String userName;
     private LocalDateTime createdAt;
     private Long parentCommentId; // nullable
+    private Long version; // on update: the version this edit is based on (optional)
 
 }
@@ -0,0 +1,20 @@
+package com.neoping.backend.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationListResponse {
+    private List<NotificationDto> notifications;
+    private int limit;
+    private Long nextCursor; // pass as ?before= to fetch the next (older) page
+    private boolean hasMore;
+    private boolean success;
+}
@@ -17,6 +17,7 @@ public class PostListResponse {
     private int limit;
     private int offset;
     private boolean hasMore;
+    private String nextCursor; // keyset feeds only: pass as ?cursor= for the next page
     private boolean success;
     private String error;
 }
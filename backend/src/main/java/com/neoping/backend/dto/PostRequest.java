@@ -22,6 +22,7 @@ public class PostRequest {
     private String linkUrl;
     private String linkTitle;
     private String community; // community name or id
+    private Long version; // on update: the version this edit is based on (optional)
 
     @Override
     public String toString() {
@@ -38,6 +39,7 @@ public class PostRequest {
                 ", linkUrl='" + linkUrl + '\'' +
                 ", linkTitle='" + linkTitle + '\'' +
                 ", community='" + community + '\'' +
+                ", version=" + version +
                 '}';
     }
 
@@ -2,6 +2,8 @@ package com.neoping.backend.dto;
 
 import java.time.Instant;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,6 +17,7 @@ public class PostResponse {
     private Long id;
     private Long postId; // Alternative ID field for compatibility
     private String title;
+    @JsonInclude(JsonInclude.Include.NON_NULL) // list views send the excerpt in content only
     private String description;
     private String subredditName;
     private String userName;
@@ -50,5 +53,7 @@ public class PostResponse {
     private Integer pollDuration;
     private String linkUrl;
     private String linkTitle;
-    private String community; // community name or id
+    private String community; // community name
+    private Long communityId;
+    private Long version; // send back on PUT to detect concurrent edits
 }
@@ -0,0 +1,35 @@
+package com.neoping.backend.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One row of a post list, selected column by column by PostRepository so no
+// Post, User or Community entity (and no post body) is loaded for a feed
+// page. Field order is the constructor order the list queries select in.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSummary {
+    private Long id;
+    private Long version;
+    private String title;
+    private String excerpt;
+    private String url;
+    private Instant createdDate;
+    private Long voteCount;
+    private String image;
+    private String video;
+    private String pollQuestion;
+    private String pollOptions;
+    private Integer pollDuration;
+    private String linkUrl;
+    private String linkTitle;
+    private String username;
+    private Long communityId;
+    private String communityName;
+}
@@ -18,4 +18,5 @@ public class ProfileDto {
     private String bio; // Short user bio
     private Instant created; // Account creation date
     private String password;
+    private Long version; // on update: the version this edit is based on (optional)
 }
@@ -0,0 +1,21 @@
+package com.neoping.backend.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchResponse {
+    private String query;
+    private List<SearchResultDto> results;
+    private boolean partial; // true when some types are missing from the results
+    private List<String> unavailable; // types that missed their deadline or failed
+    private boolean success;
+    private String error;
+}
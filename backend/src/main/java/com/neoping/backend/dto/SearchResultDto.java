@@ -0,0 +1,18 @@
+package com.neoping.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchResultDto {
+    private String type; // post, news, video, community, user
+    private Long id;
+    private String title;
+    private String snippet;
+    private float score;
+}
@@ -0,0 +1,18 @@
+package com.neoping.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TypeaheadSuggestionDto {
+    private String type; // user or community
+    private Long id;
+    private String value; // username or community name, as inserted by the picker
+    private String label; // community display name; the username for users
+    private long score; // members for communities, posts + comments for users
+}
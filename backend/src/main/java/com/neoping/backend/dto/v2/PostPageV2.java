@@ -0,0 +1,24 @@
+package com.neoping.backend.dto.v2;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A page of PostV2. Failures are reported by status code with an
+// ErrorResponse body, so there is no success/error pair.
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PostPageV2 {
+    private List<PostV2> posts;
+    private Integer total; // offset-paged lists only
+    private boolean hasMore;
+    private String nextCursor; // keyset feeds only: pass as ?cursor= for the next page
+}
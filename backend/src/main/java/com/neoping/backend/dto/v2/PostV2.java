@@ -0,0 +1,38 @@
+package com.neoping.backend.dto.v2;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Compact post for /api/v2: each value once, nothing constant, nulls left
+// out. Relative times ("3 hours ago") are the client's job.
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PostV2 {
+    private Long id;
+    private String title;
+    private String description;
+    private String url;
+    private String author;
+    private String community;
+    private Long communityId;
+    private Instant createdAt;
+    private Integer votes;
+    private Integer comments;
+    private Integer vote; // the caller's vote: 1, -1, or absent
+    private String image;
+    private String video;
+    private String pollQuestion;
+    private String pollOptions;
+    private Integer pollDuration;
+    private String linkUrl;
+    private String linkTitle;
+}
@@ -12,6 +12,7 @@ import com.neoping.backend.model.User;
 public interface CommentMapper {
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "createdAt", expression = "java(java.time.LocalDateTime.now())")
     @Mapping(target = "post", source = "post")
     @Mapping(target = "user", source = "user") // ✅ This was missing
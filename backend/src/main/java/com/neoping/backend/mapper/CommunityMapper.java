@@ -18,12 +18,13 @@ public interface CommunityMapper {
     CommunityDto toDto(Community community);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "creator", ignore = true) // Set in service
     @Mapping(target = "createdAt", expression = "java(java.time.LocalDateTime.now())")
     @Mapping(target = "displayName", source = "displayName")
     @Mapping(target = "category", source = "category")
     @Mapping(target = "avatar", source = "avatar")
-    @Mapping(target = "members", source = "members")
+    @Mapping(target = "members", constant = "1") // the creator; kept by membership changes
     @Mapping(target = "rules", source = "rules")
     Community fromDto(CommunityDto dto);
 }
@@ -1,23 +1,33 @@
 package com.neoping.backend.mapper;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.mapstruct.Context;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Mappings;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import com.github.marlonlom.utilities.timeago.TimeAgo;
 import com.neoping.backend.dto.PostRequest;
 import com.neoping.backend.dto.PostResponse;
+import com.neoping.backend.dto.PostSummary;
 import com.neoping.backend.model.Post;
 import com.neoping.backend.model.User;
 import com.neoping.backend.model.VoteType;
 import com.neoping.backend.repository.CommentRepository;
 import com.neoping.backend.repository.VoteRepository;
-import com.neoping.backend.service.AuthService;
 
 import lombok.extern.slf4j.Slf4j;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", imports = VoteType.class)
 @Slf4j
 public abstract class PostMapper {
     @Autowired
@@ -25,16 +35,6 @@ public abstract class PostMapper {
     @Autowired
     protected VoteRepository voteRepository;
 
-    @Autowired
-    protected AuthService authService;
-
-    // Returns the number of comments for a post
-    public int commentCount(Post post) {
-        if (post == null || post.getId() == null)
-            return 0;
-        return (int) commentRepository.countByPostId(post.getId());
-    }
-
     @Mappings({
             @Mapping(target = "postId", source = "id"),
             @Mapping(target = "id", source = "id"),
@@ -47,7 +47,7 @@ public abstract class PostMapper {
             @Mapping(target = "userName", source = "user.username"),
             @Mapping(target = "user", source = "user.username"),
             @Mapping(target = "username", source = "user.username"),
-            @Mapping(target = "commentCount", expression = "java(commentCount(post))"),
+            @Mapping(target = "commentCount", expression = "java(lookups.commentCount(post.getId()))"),
             @Mapping(target = "comments", ignore = true),
             @Mapping(target = "voteCount", expression = "java(post.getVoteCount() != null ? post.getVoteCount().intValue() : 0)"),
             @Mapping(target = "image", source = "image"),
@@ -57,10 +57,38 @@ public abstract class PostMapper {
             @Mapping(target = "pollDuration", source = "pollDuration"),
             @Mapping(target = "linkUrl", source = "linkUrl"),
             @Mapping(target = "linkTitle", source = "linkTitle"),
-            @Mapping(target = "community", source = "community"),
+            @Mapping(target = "community", source = "community.name"),
+            @Mapping(target = "communityId", source = "community.id"),
+            @Mapping(target = "likes", expression = "java(post.getVoteCount() != null ? post.getVoteCount().intValue() : 0)"),
+            @Mapping(target = "upVote", expression = "java(lookups.hasVote(post.getId(), VoteType.UPVOTE))"),
+            @Mapping(target = "downVote", expression = "java(lookups.hasVote(post.getId(), VoteType.DOWNVOTE))"),
+            @Mapping(target = "duration", expression = "java(mapDuration(post.getCreatedDate()))"),
+            @Mapping(target = "shares", constant = "0"),
+            @Mapping(target = "imageUrl", constant = ""),
+            @Mapping(target = "liked", constant = "false"),
+            @Mapping(target = "saved", constant = "false"),
+            @Mapping(target = "success", constant = "true"),
+            @Mapping(target = "error", constant = ""),
+            @Mapping(target = "message", constant = ""),
+            @Mapping(target = "subredditName", constant = "")
+    })
+    public abstract PostResponse mapToDto(Post post, @Context PostLookups lookups);
+
+    // List views show the excerpt in place of the body, once, in content
+    @Mappings({
+            @Mapping(target = "postId", source = "id"),
+            @Mapping(target = "description", ignore = true),
+            @Mapping(target = "content", source = "excerpt"),
+            @Mapping(target = "timestamp", source = "createdDate"),
+            @Mapping(target = "userName", source = "username"),
+            @Mapping(target = "user", source = "username"),
+            @Mapping(target = "commentCount", expression = "java(lookups.commentCount(post.getId()))"),
+            @Mapping(target = "comments", ignore = true),
+            @Mapping(target = "voteCount", expression = "java(post.getVoteCount() != null ? post.getVoteCount().intValue() : 0)"),
+            @Mapping(target = "community", source = "communityName"),
             @Mapping(target = "likes", expression = "java(post.getVoteCount() != null ? post.getVoteCount().intValue() : 0)"),
-            @Mapping(target = "upVote", expression = "java(isPostUpVoted(post))"),
-            @Mapping(target = "downVote", expression = "java(isPostDownVoted(post))"),
+            @Mapping(target = "upVote", expression = "java(lookups.hasVote(post.getId(), VoteType.UPVOTE))"),
+            @Mapping(target = "downVote", expression = "java(lookups.hasVote(post.getId(), VoteType.DOWNVOTE))"),
             @Mapping(target = "duration", expression = "java(mapDuration(post.getCreatedDate()))"),
             @Mapping(target = "shares", constant = "0"),
             @Mapping(target = "imageUrl", constant = ""),
@@ -71,11 +99,13 @@ public abstract class PostMapper {
             @Mapping(target = "message", constant = ""),
             @Mapping(target = "subredditName", constant = "")
     })
-    public abstract PostResponse mapToDto(Post post);
+    public abstract PostResponse mapToListDto(PostSummary post, @Context PostLookups lookups);
 
     // POST REQUEST ➝ POST ENTITY
     @Mappings({
             @Mapping(target = "id", ignore = true),
+            @Mapping(target = "version", ignore = true),
+            @Mapping(target = "excerpt", ignore = true), // derived from the description on insert
             @Mapping(target = "createdDate", expression = "java(java.time.Instant.now())"),
             @Mapping(target = "title", source = "postRequest.title"),
             @Mapping(target = "url", source = "postRequest.url"),
@@ -90,72 +120,66 @@ public abstract class PostMapper {
             @Mapping(target = "pollDuration", source = "postRequest.pollDuration"),
             @Mapping(target = "linkUrl", source = "postRequest.linkUrl"),
             @Mapping(target = "linkTitle", source = "postRequest.linkTitle"),
-            @Mapping(target = "community", source = "postRequest.community")
+            @Mapping(target = "community", ignore = true) // resolved by PostService
     })
     public abstract Post map(PostRequest postRequest, User user);
 
-    // POST ENTITY ➝ POST RESPONSE DTO
-    @Mappings({
-            @Mapping(target = "postId", source = "id"),
-            @Mapping(target = "id", source = "id"),
-            @Mapping(target = "title", source = "title"),
-            @Mapping(target = "description", source = "description"),
-            @Mapping(target = "content", source = "description"),
-            @Mapping(target = "url", source = "url"),
-            @Mapping(target = "createdDate", source = "createdDate"),
-            @Mapping(target = "timestamp", source = "createdDate"),
-            @Mapping(target = "userName", source = "user.username"),
-            @Mapping(target = "user", source = "user.username"),
-            @Mapping(target = "username", source = "user.username"),
-            @Mapping(target = "commentCount", expression = "java(commentCount(post))"),
-            @Mapping(target = "comments", ignore = true),
-            @Mapping(target = "voteCount", expression = "java(post.getVoteCount() != null ? post.getVoteCount().intValue() : 0)"),
-            @Mapping(target = "image", source = "image"),
-            @Mapping(target = "video", source = "video"),
-            @Mapping(target = "pollQuestion", source = "pollQuestion"),
-            @Mapping(target = "pollOptions", source = "pollOptions"),
-            @Mapping(target = "pollDuration", source = "pollDuration"),
-            @Mapping(target = "linkUrl", source = "linkUrl"),
-            @Mapping(target = "linkTitle", source = "linkTitle"),
-            @Mapping(target = "community", source = "community"),
-            @Mapping(target = "likes", expression = "java(post.getVoteCount() != null ? post.getVoteCount().intValue() : 0)"),
-            @Mapping(target = "upVote", expression = "java(isPostUpVoted(post))"),
-            @Mapping(target = "downVote", expression = "java(isPostDownVoted(post))"),
-            @Mapping(target = "duration", expression = "java(mapDuration(post.getCreatedDate()))"),
-            @Mapping(target = "shares", constant = "0"),
-            @Mapping(target = "imageUrl", constant = ""),
-            @Mapping(target = "liked", constant = "false"),
-            @Mapping(target = "saved", constant = "false"),
-            @Mapping(target = "success", constant = "true"),
-            @Mapping(target = "error", constant = ""),
-            @Mapping(target = "message", constant = ""),
-            @Mapping(target = "subredditName", constant = "")
-    })
-    // ✅ FIXED: Helper to check if post is upvoted by current user
-    protected boolean isPostUpVoted(Post post) {
-        try {
-            User currentUser = authService.getCurrentUser();
-            return voteRepository.findTopByPostAndUserOrderByVoteIdDesc(post, currentUser)
-                    .map(vote -> vote.getVoteType().equals(VoteType.UPVOTE))
-                    .orElse(false);
-        } catch (Exception e) {
-            // User not authenticated or other error - return false
-            log.debug("Failed to check upvote status for post {}: {}", post.getId(), e.getMessage());
-            return false;
+    // Comment counts and the caller's votes for a list of posts, fetched with
+    // one query each instead of one (or three) per post
+    public List<PostResponse> mapToDtos(List<PostSummary> posts) {
+        if (posts.isEmpty()) {
+            return Collections.emptyList();
         }
+        PostLookups lookups = lookupsFor(posts.stream().map(PostSummary::getId).collect(Collectors.toList()));
+        return posts.stream()
+                .map(post -> mapToListDto(post, lookups))
+                .collect(Collectors.toList());
     }
 
-    // ✅ FIXED: Helper to check if post is downvoted by current user
-    protected boolean isPostDownVoted(Post post) {
-        try {
-            User currentUser = authService.getCurrentUser();
-            return voteRepository.findTopByPostAndUserOrderByVoteIdDesc(post, currentUser)
-                    .map(vote -> vote.getVoteType().equals(VoteType.DOWNVOTE))
-                    .orElse(false);
-        } catch (Exception e) {
-            // User not authenticated or other error - return false
-            log.debug("Failed to check downvote status for post {}: {}", post.getId(), e.getMessage());
-            return false;
+    public PostResponse mapToDto(Post post) {
+        return mapToDto(post, lookupsFor(Collections.singletonList(post.getId())));
+    }
+
+    private PostLookups lookupsFor(List<Long> postIds) {
+        Map<Long, Long> commentCounts = new HashMap<>();
+        for (CommentRepository.PostCommentCount row : commentRepository.countByPostIds(postIds)) {
+            commentCounts.put(row.getPostId(), row.getCommentCount());
+        }
+        Map<Long, VoteType> votes = new HashMap<>();
+        String username = currentUsername();
+        if (username != null) {
+            // Ordered by vote id, so the latest vote on each post wins
+            for (VoteRepository.PostVote vote : voteRepository.findVotesByUsernameAndPostIds(username, postIds)) {
+                votes.put(vote.getPostId(), vote.getVoteType());
+            }
+        }
+        return new PostLookups(commentCounts, votes);
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    public static final class PostLookups {
+        private final Map<Long, Long> commentCounts;
+        private final Map<Long, VoteType> votes;
+
+        private PostLookups(Map<Long, Long> commentCounts, Map<Long, VoteType> votes) {
+            this.commentCounts = commentCounts;
+            this.votes = votes;
+        }
+
+        public int commentCount(Long postId) {
+            return commentCounts.getOrDefault(postId, 0L).intValue();
+        }
+
+        public boolean hasVote(Long postId, VoteType type) {
+            return votes.get(postId) == type;
         }
     }
 
@@ -0,0 +1,30 @@
+package com.neoping.backend.mapper;
+
+import java.util.List;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import com.neoping.backend.dto.PostListResponse;
+import com.neoping.backend.dto.PostResponse;
+import com.neoping.backend.dto.v2.PostPageV2;
+import com.neoping.backend.dto.v2.PostV2;
+
+// v1 post DTOs -> the compact v2 shape. Services keep producing v1, so both
+// formats come from the same queries and lookups.
+@Mapper(componentModel = "spring")
+public interface PostV2Mapper {
+
+    @Mapping(target = "description", source = "content") // the body, or in lists the excerpt
+    @Mapping(target = "author", source = "userName")
+    @Mapping(target = "createdAt", source = "createdDate")
+    @Mapping(target = "votes", source = "voteCount")
+    @Mapping(target = "comments", source = "commentCount")
+    @Mapping(target = "vote", expression = "java(response.isUpVote() ? Integer.valueOf(1) "
+            + ": response.isDownVote() ? Integer.valueOf(-1) : null)")
+    PostV2 toV2(PostResponse response);
+
+    List<PostV2> toV2(List<PostResponse> responses);
+
+    PostPageV2 toV2(PostListResponse page);
+}
@@ -0,0 +1,28 @@
+package com.neoping.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Application event raised by comment and vote writes. It is consumed after
+// commit by NotificationFanoutService, which turns it into notifications.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EngagementEvent {
+    public enum Type {
+        COMMENT, REPLY, UPVOTE, MILESTONE
+    }
+
+    private Type type;
+    private String actor; // username that caused the event
+    private Long postId;
+    private String postTitle;
+    private String postOwner;
+    private Long commentId;
+    private String commentContent;
+    private Long parentCommentId; // REPLY only; its author is resolved off the request thread
+    private long voteCount; // MILESTONE only
+}
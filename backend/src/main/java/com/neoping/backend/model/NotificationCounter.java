@@ -0,0 +1,26 @@
+package com.neoping.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Unread notification count per recipient, kept in step with Notification
+// writes so badge polling never has to count rows.
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "notification_counters")
+public class NotificationCounter {
+    @Id
+    private String recipient;
+
+    @Column(nullable = false)
+    private long unreadCount;
+}
@@ -4,42 +4,79 @@ import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+
+import jakarta.persistence.Basic;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Entity
+@DynamicUpdate
+@Table(indexes = {
+        // Category feeds: newest first and most voted first, without a filesort
+        @Index(name = "idx_post_category_created", columnList = "category, createdDate, id"),
+        @Index(name = "idx_post_category_votes", columnList = "category, voteCount, id"),
+        // Community feeds, paged by (createdDate, id) keyset
+        @Index(name = "idx_post_community_created", columnList = "community_id, createdDate, id")
+})
 public class Post {
 
+    public static final int EXCERPT_LENGTH = 280;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Optimistic lock: a write based on a stale read fails instead of
+    // silently overwriting. Rows that predate the column start at 0.
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @NotBlank(message = "Post name cannot be empty")
     private String title;
 
     private String url;
 
+    // The body is loaded on first read (the build enhances entities), so
+    // list queries leave it out and list views show the excerpt instead
     @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private String description;
 
+    // First EXCERPT_LENGTH characters of the description, kept in step by
+    // setDescription and on insert
+    @Column(length = EXCERPT_LENGTH)
+    private String excerpt;
+
     @Builder.Default
     private Long voteCount = 0L;
 
@@ -61,12 +98,32 @@ public class Post {
     private Integer pollDuration;
     private String linkUrl;
     private String linkTitle;
-    private String community; // community name or id
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "community_id")
+    private Community community;
 
     private String category; // <-- Add this line for category support
 
+    public void setDescription(String description) {
+        this.description = description;
+        this.excerpt = excerptOf(description);
+    }
+
+    public static String excerptOf(String description) {
+        if (description == null || description.length() <= EXCERPT_LENGTH) {
+            return description;
+        }
+        int end = Character.isHighSurrogate(description.charAt(EXCERPT_LENGTH - 1)) ? EXCERPT_LENGTH - 1
+                : EXCERPT_LENGTH;
+        return description.substring(0, end);
+    }
+
     @PrePersist
     protected void onCreate() {
         this.createdDate = Instant.now();
+        if (this.excerpt == null) {
+            this.excerpt = excerptOf(this.description);
+        }
     }
 }
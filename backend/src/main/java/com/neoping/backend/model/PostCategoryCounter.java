@@ -0,0 +1,26 @@
+package com.neoping.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Number of posts per category (lower-cased), kept in step with post
+// create/update/delete so category paging totals never count rows.
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "post_category_counters")
+public class PostCategoryCounter {
+    @Id
+    private String category;
+
+    @Column(nullable = false)
+    private long postCount;
+}
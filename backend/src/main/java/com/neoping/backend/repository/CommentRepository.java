@@ -1,7 +1,9 @@
 package com.neoping.backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -23,18 +25,40 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     // Fetch replies for a given parent comment
     List<Comment> findByParentComment(Comment parentComment);
 
+    @EntityGraph(attributePaths = "user")
     List<Comment> findAllByUser(User user);
 
     Long countByPost(Post post);
 
     // Add these methods to your existing CommentRepository.java if they don't exist
+    @EntityGraph(attributePaths = "user")
     List<Comment> findByPostIdOrderByCreatedAtDesc(Long postId);
 
     // Alternative query if the above doesn't work
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT c FROM Comment c WHERE c.post.id = :postId ORDER BY c.createdAt DESC")
     List<Comment> findCommentsByPostId(@Param("postId") Long postId);
 
     List<Comment> findByPostId(Long postId);
 
     long countByPostId(Long postId);
+
+    interface PostCommentCount {
+        Long getPostId();
+
+        long getCommentCount();
+    }
+
+    // Comment counts for a page of posts; posts without comments are absent
+    @Query("SELECT c.post.id AS postId, COUNT(c) AS commentCount FROM Comment c "
+            + "WHERE c.post.id IN :postIds GROUP BY c.post.id")
+    List<PostCommentCount> countByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // [commentId, author username] pairs, used to address reply notifications
+    @Query("SELECT c.id, c.user.username FROM Comment c WHERE c.id IN :ids")
+    List<Object[]> findAuthorsByIds(@Param("ids") Collection<Long> ids);
+
+    // [username, comment count], used to rank typeahead suggestions by activity
+    @Query("SELECT c.user.username, COUNT(c) FROM Comment c GROUP BY c.user.username")
+    List<Object[]> countCommentsByUsername();
 }
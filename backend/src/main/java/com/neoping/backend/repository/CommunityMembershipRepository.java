@@ -0,0 +1,25 @@
+package com.neoping.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.neoping.backend.model.CommunityMembership;
+
+@Repository
+public interface CommunityMembershipRepository extends JpaRepository<CommunityMembership, Long> {
+    boolean existsByCommunityIdAndUserId(Long communityId, Long userId);
+
+    // Returns the number of rows removed (0 when the user was not a member)
+    @Modifying
+    @Query("DELETE FROM CommunityMembership m WHERE m.community.id = :communityId AND m.user.id = :userId")
+    int deleteMembership(@Param("communityId") Long communityId, @Param("userId") Long userId);
+
+    // Ids of the communities a user belongs to; served by idx_membership_user
+    @Query("SELECT m.community.id FROM CommunityMembership m WHERE m.user.id = :userId")
+    List<Long> findCommunityIdsByUserId(@Param("userId") Long userId);
+}
@@ -1,6 +1,14 @@
 package com.neoping.backend.repository;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.neoping.backend.model.Community;
@@ -8,4 +16,32 @@ import com.neoping.backend.model.Community;
 @Repository
 public interface CommunityRepository extends JpaRepository<Community, Long> {
     boolean existsByName(String name);
+
+    Optional<Community> findByName(String name);
+
+    Optional<Community> findByNameIgnoreCase(String name);
+
+    @EntityGraph(attributePaths = "creator")
+    Optional<Community> findWithCreatorById(Long id);
+
+    // Creator fetched in the same query, so mapping creatorId/creatorName
+    // doesn't load each creator separately
+    @Query("SELECT c FROM Community c JOIN FETCH c.creator")
+    List<Community> findAllWithCreator();
+
+    // Atomic member counter update, applied in the same transaction as the
+    // membership row it accounts for. Clears the persistence context so a
+    // Community loaded afterwards shows the new count.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Community c SET c.members = c.members + :delta WHERE c.id = :id")
+    int adjustMembers(@Param("id") Long id, @Param("delta") int delta);
+
+    // id, display name, name + description in id order, for building the search index
+    @Query("SELECT c.id, c.displayName, CONCAT(c.name, ' ', COALESCE(c.description, '')) FROM Community c "
+            + "WHERE c.id > :afterId ORDER BY c.id")
+    List<Object[]> findSearchRowsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // id, name, display name, members in id order, for building the typeahead index
+    @Query("SELECT c.id, c.name, c.displayName, c.members FROM Community c WHERE c.id > :afterId ORDER BY c.id")
+    List<Object[]> findTypeaheadRowsAfter(@Param("afterId") Long afterId, Limit limit);
 }
@@ -1,8 +1,13 @@
 package com.neoping.backend.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.neoping.backend.model.News;
 
@@ -11,4 +16,8 @@ public interface NewsRepository extends JpaRepository<News, Long> {
 
     Page<News> findByTitleContainingIgnoreCaseOrExcerptContainingIgnoreCase(String title, String excerpt,
             Pageable pageable);
+
+    // id, title, excerpt in id order, for building the search index
+    @Query("SELECT n.id, n.title, n.excerpt FROM News n WHERE n.id > :afterId ORDER BY n.id")
+    List<Object[]> findSearchRowsAfter(@Param("afterId") Long afterId, Limit limit);
 }
@@ -0,0 +1,37 @@
+package com.neoping.backend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.neoping.backend.model.NotificationCounter;
+
+@Repository
+public interface NotificationCounterRepository extends JpaRepository<NotificationCounter, String> {
+
+    // Returns 0 when the recipient has no counter row yet; the caller then
+    // seeds it
+    @Modifying
+    @Query("UPDATE NotificationCounter c SET c.unreadCount = c.unreadCount + :delta WHERE c.recipient = :recipient")
+    int increment(@Param("recipient") String recipient, @Param("delta") long delta);
+
+    // Creates the row from a COUNT of unread notifications, or adds delta if
+    // another transaction created it first. Count and insert are one
+    // statement, so a notification written concurrently is either counted or
+    // added by its writer, never lost.
+    @Modifying
+    @Query(value = "INSERT INTO notification_counters (recipient, unread_count) "
+            + "SELECT :recipient, COUNT(*) FROM notification n WHERE n.recipient = :recipient AND n.is_read = FALSE "
+            + "ON DUPLICATE KEY UPDATE unread_count = unread_count + :delta", nativeQuery = true)
+    int seed(@Param("recipient") String recipient, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE NotificationCounter c SET c.unreadCount = c.unreadCount - 1 WHERE c.recipient = :recipient AND c.unreadCount > 0")
+    int decrement(@Param("recipient") String recipient);
+
+    @Modifying
+    @Query("UPDATE NotificationCounter c SET c.unreadCount = 0 WHERE c.recipient = :recipient")
+    int reset(@Param("recipient") String recipient);
+}
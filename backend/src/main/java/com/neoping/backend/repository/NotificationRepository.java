@@ -2,11 +2,31 @@ package com.neoping.backend.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.neoping.backend.model.Notification;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByRecipientOrderByTimeDesc(String recipient);
+
+    // Keyset pages on (recipient, id); ids are monotonic so they double as the cursor.
+    List<Notification> findByRecipientOrderByIdDesc(String recipient, Limit limit);
+
+    List<Notification> findByRecipientAndIdLessThanOrderByIdDesc(String recipient, Long before, Limit limit);
+
+    List<Notification> findByRecipientAndIdGreaterThanOrderByIdDesc(String recipient, Long since, Limit limit);
+
+    List<Notification> findByRecipientAndIdGreaterThanAndIdLessThanOrderByIdDesc(String recipient, Long since,
+            Long before, Limit limit);
+
+    long countByRecipientAndReadFalse(String recipient);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.recipient = :recipient AND n.read = false")
+    int markAllAsRead(@Param("recipient") String recipient);
 }
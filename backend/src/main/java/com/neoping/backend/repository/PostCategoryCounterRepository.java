@@ -0,0 +1,32 @@
+package com.neoping.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.neoping.backend.model.PostCategoryCounter;
+
+@Repository
+public interface PostCategoryCounterRepository extends JpaRepository<PostCategoryCounter, String> {
+
+    // Returns 0 when the category has no counter row yet; the row is seeded
+    // from a COUNT on the next read, which already includes this change.
+    @Modifying
+    @Query("UPDATE PostCategoryCounter c SET c.postCount = c.postCount + :delta WHERE c.category = :category")
+    int increment(@Param("category") String category, @Param("delta") long delta);
+
+    // Recounts one category in a single statement, so the count and the write
+    // happen under the same row lock as increment() and no concurrent change
+    // is overwritten. Compares as the seed's COUNT does, through the collation.
+    @Modifying
+    @Query("UPDATE PostCategoryCounter c SET c.postCount = "
+            + "(SELECT COUNT(p) FROM Post p WHERE p.category = c.category) WHERE c.category = :category")
+    int recount(@Param("category") String category);
+
+    @Query("SELECT c.category FROM PostCategoryCounter c")
+    List<String> findAllCategories();
+}
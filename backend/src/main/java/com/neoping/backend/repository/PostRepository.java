@@ -1,18 +1,117 @@
 package com.neoping.backend.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Page;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.neoping.backend.dto.PostSummary;
 import com.neoping.backend.model.Post;
 
+// List views read PostSummary rows: the columns a feed card shows, the
+// author's username and the community's id and name, selected in one query
+// without loading entities or the post body.
 public interface PostRepository extends JpaRepository<Post, Long> {
-    List<Post> findByUserUsername(String username);
+    // Rows the excerpt backfill has not reached yet get one cut from the body
+    String SUMMARY = "SELECT new com.neoping.backend.dto.PostSummary(p.id, p.version, p.title, "
+            + "COALESCE(p.excerpt, SUBSTRING(CAST(p.description AS String), 1, " + Post.EXCERPT_LENGTH + ")), "
+            + "p.url, p.createdDate, p.voteCount, p.image, p.video, p.pollQuestion, p.pollOptions, p.pollDuration, "
+            + "p.linkUrl, p.linkTitle, u.username, c.id, c.name) "
+            + "FROM Post p LEFT JOIN p.user u LEFT JOIN p.community c ";
+
+    // A single post with its body, for the detail view
+    @EntityGraph(attributePaths = { "user", "community", "description" })
+    Optional<Post> findWithBodyById(Long id);
+
+    @Query(SUMMARY)
+    List<PostSummary> findAllSummaries();
+
+    @Query(SUMMARY + "WHERE p.id IN :ids")
+    List<PostSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SUMMARY + "WHERE u.username = :username")
+    List<PostSummary> findSummariesByUsername(@Param("username") String username);
+
+    @Query(SUMMARY + "WHERE UPPER(p.title) LIKE UPPER(CONCAT('%', :search, '%')) "
+            + "OR UPPER(CAST(p.description AS String)) LIKE UPPER(CONCAT('%', :search, '%')) "
+            + "ORDER BY p.createdDate DESC, p.id DESC")
+    List<PostSummary> searchSummaries(@Param("search") String search, Pageable pageable);
+
+    // Feed pages without the COUNT query a Page would run. Category equality
+    // (not IgnoreCase, which wraps the column in UPPER) uses the composite
+    // (category, ...) indexes; MySQL's default collation is case-insensitive.
+    @Query(SUMMARY + "ORDER BY p.createdDate DESC, p.id DESC")
+    List<PostSummary> findSummaryPage(Pageable pageable);
+
+    @Query(SUMMARY + "WHERE p.category = :category ORDER BY p.createdDate DESC, p.id DESC")
+    List<PostSummary> findSummaryPageByCategory(@Param("category") String category, Pageable pageable);
+
+    @Query(SUMMARY + "ORDER BY p.voteCount DESC, p.id DESC")
+    List<PostSummary> findPopularSummaryPage(Pageable pageable);
+
+    @Query(SUMMARY + "WHERE p.category = :category ORDER BY p.voteCount DESC, p.id DESC")
+    List<PostSummary> findPopularSummaryPageByCategory(@Param("category") String category, Pageable pageable);
+
+    long countByCategory(String category);
+
+    // Community feed, newest first, keyset-paged on (createdDate, id) along
+    // idx_post_community_created
+    @Query(SUMMARY + "WHERE p.community.id = :communityId ORDER BY p.createdDate DESC, p.id DESC")
+    List<PostSummary> findCommunityFeed(@Param("communityId") Long communityId, Limit limit);
+
+    @Query(SUMMARY + "WHERE p.community.id = :communityId AND (p.createdDate < :beforeDate "
+            + "OR (p.createdDate = :beforeDate AND p.id < :beforeId)) ORDER BY p.createdDate DESC, p.id DESC")
+    List<PostSummary> findCommunityFeedBefore(@Param("communityId") Long communityId,
+            @Param("beforeDate") Instant beforeDate, @Param("beforeId") Long beforeId, Limit limit);
+
+    // [id, createdDate] references for assembling home feeds; the post rows
+    // themselves are loaded once the page is known
+    @Query("SELECT p.id, p.createdDate FROM Post p WHERE p.community.id = :communityId "
+            + "ORDER BY p.createdDate DESC, p.id DESC")
+    List<Object[]> findFeedRefs(@Param("communityId") Long communityId, Limit limit);
+
+    @Query("SELECT p.id, p.createdDate FROM Post p WHERE p.community.id = :communityId AND (p.createdDate < :beforeDate "
+            + "OR (p.createdDate = :beforeDate AND p.id < :beforeId)) ORDER BY p.createdDate DESC, p.id DESC")
+    List<Object[]> findFeedRefsBefore(@Param("communityId") Long communityId,
+            @Param("beforeDate") Instant beforeDate, @Param("beforeId") Long beforeId, Limit limit);
+
+    @Query("SELECT p.id, p.createdDate FROM Post p WHERE p.community.id IN :communityIds "
+            + "ORDER BY p.createdDate DESC, p.id DESC")
+    List<Object[]> findFeedRefsForCommunities(@Param("communityIds") Collection<Long> communityIds, Limit limit);
+
+    // Vote counter changes in place: no read-modify-write race, only the one
+    // column written, and the optimistic-lock version is left alone so votes
+    // never conflict with an edit
+    @Modifying
+    @Query("UPDATE Post p SET p.voteCount = p.voteCount + :delta WHERE p.id = :id")
+    int adjustVoteCount(@Param("id") Long id, @Param("delta") long delta);
+
+    @Query("SELECT p.voteCount FROM Post p WHERE p.id = :id")
+    Long findVoteCountById(@Param("id") Long id);
+
+    // Fills in excerpts for rows written before the column existed, one id
+    // range at a time
+    @Modifying
+    @Query("UPDATE Post p SET p.excerpt = SUBSTRING(CAST(p.description AS String), 1, :length) WHERE p.excerpt IS NULL "
+            + "AND p.description IS NOT NULL AND p.id > :afterId AND p.id <= :toId")
+    int backfillExcerpts(@Param("afterId") Long afterId, @Param("toId") Long toId, @Param("length") int length);
 
-    Page<Post> findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
-            String title, String description, org.springframework.data.domain.Pageable pageable);
+    @Query("SELECT MAX(p.id) FROM Post p")
+    Long findMaxId();
 
-    Page<Post> findByCategoryIgnoreCase(String category, org.springframework.data.domain.Pageable pageable);
+    // id, title, description in id order, for building the search index
+    @Query("SELECT p.id, p.title, p.description FROM Post p WHERE p.id > :afterId ORDER BY p.id")
+    List<Object[]> findSearchRowsAfter(@Param("afterId") Long afterId, Limit limit);
 
+    // [username, post count], used to rank typeahead suggestions by activity
+    @Query("SELECT p.user.username, COUNT(p) FROM Post p GROUP BY p.user.username")
+    List<Object[]> countPostsByUsername();
 }
@@ -1,8 +1,12 @@
 package com.neoping.backend.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.neoping.backend.model.User;
@@ -11,4 +15,8 @@ import com.neoping.backend.model.User;
 public interface UserRepository extends JpaRepository<User, Long> {
     // You can add custom query methods here if needed
     Optional<User> findByUsername(String username);
+
+    // id, username in id order, for building the search index
+    @Query("SELECT u.id, u.username, '' FROM User u WHERE u.id > :afterId AND u.enabled = true ORDER BY u.id")
+    List<Object[]> findSearchRowsAfter(@Param("afterId") Long afterId, Limit limit);
 }
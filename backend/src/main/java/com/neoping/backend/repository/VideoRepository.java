@@ -1,8 +1,13 @@
 package com.neoping.backend.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.neoping.backend.model.Video;
 
@@ -11,4 +16,8 @@ public interface VideoRepository extends JpaRepository<Video, Long> {
             Pageable pageable);
 
     Page<Video> findByCategoryIgnoreCase(String category, Pageable pageable);
+
+    // id, title, description in id order, for building the search index
+    @Query("SELECT v.id, v.title, v.description FROM Video v WHERE v.id > :afterId ORDER BY v.id")
+    List<Object[]> findSearchRowsAfter(@Param("afterId") Long afterId, Limit limit);
 }
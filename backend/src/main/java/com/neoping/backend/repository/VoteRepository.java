@@ -1,15 +1,32 @@
 package com.neoping.backend.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import com.neoping.backend.model.Post;
 import com.neoping.backend.model.User;
 import com.neoping.backend.model.Vote;
+import com.neoping.backend.model.VoteType;
 
 @Repository
 public interface VoteRepository extends JpaRepository<Vote, Long> {
     Optional<Vote> findTopByPostAndUserOrderByVoteIdDesc(Post post, User currentUser);    
+
+    interface PostVote {
+        Long getPostId();
+
+        VoteType getVoteType();
+    }
+
+    // One user's votes on a page of posts, oldest first
+    @Query("SELECT v.post.id AS postId, v.voteType AS voteType FROM Vote v "
+            + "WHERE v.user.username = :username AND v.post.id IN :postIds ORDER BY v.voteId")
+    List<PostVote> findVotesByUsernameAndPostIds(@Param("username") String username,
+            @Param("postIds") Collection<Long> postIds);
 }
@@ -13,6 +13,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils; // Add this import
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,15 +25,18 @@ import jakarta.servlet.http.HttpServletResponse;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
-    // Track tokens that have been used for GET /api/posts
-    private static final java.util.Set<String> usedJwtTokensForGetPosts = java.util.Collections
-            .synchronizedSet(new java.util.HashSet<>());
+    // Track tokens that have been used for GET /api/posts (lock-free, so it
+    // never pins a virtual thread)
+    private static final java.util.Set<String> usedJwtTokensForGetPosts = java.util.concurrent.ConcurrentHashMap
+            .newKeySet();
 
     private final JwtProvider jwtProvider;
 
 
     private final org.springframework.security.core.userdetails.UserDetailsService userDetailsService;
 
+    private final MeterRegistry meterRegistry;
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -49,14 +54,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 path.startsWith("/api/auth/accountVerification/") ||
                 path.startsWith("/api/auth/debug/") ||
                 path.equals("/api/health") ||
-                path.equals("/api/status")) {
+                path.equals("/api/status") ||
+                path.startsWith("/actuator/health") ||
+                path.equals("/actuator/prometheus")) {
             filterChain.doFilter(request, response);
             return;
         }
 
         // ✅ ALL other endpoints now require authentication
+        Timer.Sample sample = Timer.start(meterRegistry);
         String jwt = getJwtFromRequest(request);
-        log.debug("[JWT FILTER] Raw JWT: {}", jwt);
 
         if (StringUtils.hasText(jwt)) {
             boolean valid = false;
@@ -64,7 +71,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 valid = jwtProvider.validateToken(jwt);
                 log.debug("[JWT FILTER] Token valid: {}", valid);
             } catch (Exception e) {
-                log.error("[JWT FILTER] Exception during token validation: {}", e.getMessage(), e);
+                log.debug("[JWT FILTER] Exception during token validation: {}", e.getMessage());
             }
             if (valid) {
                 String username = jwtProvider.getUsernameFromJwt(jwt);
@@ -78,20 +85,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                             null, userDetails.getAuthorities());
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+                    recordAuthentication(sample, "authenticated");
                 } catch (Exception e) {
-                    log.error("[JWT FILTER] Exception loading UserDetails: {}", e.getMessage(), e);
+                    log.warn("[JWT FILTER] Exception loading UserDetails: {}", e.getMessage());
+                    recordAuthentication(sample, "unknown_user");
                     response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                     response.getWriter().write("{\"error\": \"Authentication required (user not found)\"}");
                     return;
                 }
             } else {
+                recordAuthentication(sample, "invalid_token");
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.getWriter().write("{\"error\": \"Authentication required (invalid token)\"}");
                 return;
             }
         } else {
             // ✅ Return 401 for missing/invalid JWT
-            log.warn("[JWT FILTER] No JWT found in request");
+            log.debug("[JWT FILTER] No JWT found in request");
+            recordAuthentication(sample, "no_token");
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.getWriter().write("{\"error\": \"Authentication required (no token)\"}");
             return;
@@ -100,6 +111,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Token check and user lookup, per outcome
+    private void recordAuthentication(Timer.Sample sample, String outcome) {
+        sample.stop(Timer.builder("neoping.auth.jwt")
+                .description("JWT authentication latency")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -55,12 +55,15 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtProvider jwtProvider;
     private final RefreshTokenService refreshTokenService;
+    private final SearchIndexService searchIndexService;
+    private final TypeaheadService typeaheadService;
     private KeyStore keyStore;
 
     public AuthService(PasswordEncoder passwordEncoder, UserRepository userRepository,
             VerificationTokenRepository verificationTokenRepository, MailService mailService,
             AuthenticationManager authenticationManager, JwtProvider jwtProvider,
-            RefreshTokenService refreshTokenService) {
+            RefreshTokenService refreshTokenService, SearchIndexService searchIndexService,
+            TypeaheadService typeaheadService) {
         this.passwordEncoder = passwordEncoder;
         this.userRepository = userRepository;
         this.verificationTokenRepository = verificationTokenRepository;
@@ -68,6 +71,8 @@ public class AuthService {
         this.authenticationManager = authenticationManager;
         this.jwtProvider = jwtProvider;
         this.refreshTokenService = refreshTokenService;
+        this.searchIndexService = searchIndexService;
+        this.typeaheadService = typeaheadService;
         initializeKeyStore();
     }
 
@@ -81,6 +86,8 @@ public class AuthService {
                 .enabled(true)
                 .build();
         userRepository.save(user);
+        searchIndexService.index(SearchIndexService.Type.USER, user.getId(), user.getUsername(), null);
+        typeaheadService.addUser(user.getId(), user.getUsername());
 
         String token = generateVerificationToken(user);
         mailService.sendMail(new NotificationEmail(
@@ -192,7 +199,8 @@ public class AuthService {
         }
     }
 
-    @Transactional
+    // Read-only so it does not count as a write for replica routing
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public User getCurrentUser() {
         org.springframework.security.core.Authentication authentication = SecurityContextHolder.getContext()
                 .getAuthentication();
@@ -0,0 +1,39 @@
+package com.neoping.backend.service;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Hit and miss counts for one of the in-memory caches, published as
+// cache.gets{cache, result=hit|miss}: the meter Micrometer uses for Spring's
+// own caches, so the usual hit-rate queries work unchanged
+final class CacheStats {
+
+    private final String name;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    CacheStats(String name) {
+        this.name = name;
+    }
+
+    void hit() {
+        hits.increment();
+    }
+
+    void miss() {
+        misses.increment();
+    }
+
+    void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tags("cache", name, "result", "hit")
+                .description("Cache lookups answered from memory")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tags("cache", name, "result", "miss")
+                .description("Cache lookups that had to load")
+                .register(registry);
+    }
+}
@@ -4,12 +4,16 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.neoping.backend.dto.CommentDto;
 import com.neoping.backend.exception.SpringRedditException;
 import com.neoping.backend.mapper.CommentMapper;
 import com.neoping.backend.model.Comment;
+import com.neoping.backend.model.EngagementEvent;
 import com.neoping.backend.model.NotificationEmail;
 import com.neoping.backend.model.Post;
 import com.neoping.backend.model.User;
@@ -22,6 +26,7 @@ import lombok.extern.slf4j.Slf4j;
 
 @Service
 @AllArgsConstructor
+@Transactional
 @Slf4j
 public class CommentService {
         private static final String POST_URL = "http://localhost:8082/api/posts/";
@@ -34,11 +39,15 @@ public class CommentService {
         private final CommentMapper commentMapper;
         private final MailContentBuilder mailContentBuilder;
         private final MailService mailService;
+        private final ApplicationEventPublisher eventPublisher;
 
         // ✅ NEW: Update a comment by ID
         public void updateComment(Long id, CommentDto commentDto) {
                 Comment comment = commentRepository.findById(id)
                                 .orElseThrow(() -> new SpringRedditException("Comment not found with id: " + id));
+                if (commentDto.getVersion() != null && !commentDto.getVersion().equals(comment.getVersion())) {
+                        throw new ObjectOptimisticLockingFailureException(Comment.class, id);
+                }
                 // Update allowed fields (e.g., content)
                 comment.setContent(commentDto.getContent());
                 comment.setUpdatedAt(LocalDateTime.now());
@@ -77,6 +86,19 @@ public class CommentService {
 
                 commentRepository.save(comment);
 
+                // In-app notifications are written off the request thread by NotificationFanoutService
+                eventPublisher.publishEvent(EngagementEvent.builder()
+                                .type(comment.getParentComment() != null ? EngagementEvent.Type.REPLY
+                                                : EngagementEvent.Type.COMMENT)
+                                .actor(user.getUsername())
+                                .postId(post.getId())
+                                .postTitle(post.getTitle())
+                                .postOwner(post.getUser().getUsername())
+                                .commentId(comment.getId())
+                                .commentContent(comment.getContent())
+                                .parentCommentId(commentDto.getParentCommentId())
+                                .build());
+
                 // Send notification if commenter is not post owner
                 if (!user.getUsername().equals(post.getUser().getUsername())) {
                         String message = mailContentBuilder.build(user.getUsername() +
@@ -85,6 +107,7 @@ public class CommentService {
                 }
         }
 
+        @Transactional(readOnly = true)
         public List<CommentDto> getAllCommentsForPost(Long postId) {
                 // Use repository method that fetches by postId for reliability
                 List<Comment> comments;
@@ -103,6 +126,7 @@ public class CommentService {
                                 .collect(Collectors.toList());
         }
 
+        @Transactional(readOnly = true)
         public List<CommentDto> getAllCommentsForUser(String username) {
                 User user = userRepository.findByUsername(username)
                                 .orElseThrow(() -> new SpringRedditException("User not found: " + username));
@@ -114,7 +138,7 @@ public class CommentService {
 
         public List<Comment> getCommentsByPostId(Long postId) {
                 try {
-                        log.info("📖 Getting comments for post ID: {}", postId);
+                        log.debug("Getting comments for post ID: {}", postId);
 
                         // Try the direct method first, fallback to query if needed
                         try {
@@ -132,7 +156,7 @@ public class CommentService {
 
         public Comment addComment(Long postId, String content, String username) {
                 try {
-                        log.info("💬 Adding comment to post {} by user: {}", postId, username);
+                        log.debug("Adding comment to post {} by user: {}", postId, username);
 
                         // Find the post
                         Post post = postRepository.findById(postId)
@@ -163,7 +187,7 @@ public class CommentService {
         }
 
         private void sendCommentNotification(User user, String message) {
-                log.info("Sending comment email to: {}", user.getEmail());
+                log.debug("Sending comment email to: {}", user.getEmail());
                 mailService.sendMail(new NotificationEmail(
                                 "Someone commented on your post",
                                 user.getEmail(),
@@ -0,0 +1,137 @@
+package com.neoping.backend.service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.neoping.backend.dto.CommunityDto;
+import com.neoping.backend.dto.CommunityListResponse;
+import com.neoping.backend.mapper.CommunityMapper;
+import com.neoping.backend.repository.CommunityRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// The explore tab's community directory, held in memory as one list per sort
+// order and served a page at a time. Loaded with a single join-fetch query;
+// creating a community or a membership change marks it stale, and the next
+// read reloads it while concurrent reads keep the previous snapshot.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CommunityDirectoryService implements MeterBinder {
+
+    public enum Sort {
+        MEMBERS, NEWEST, NAME
+    }
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Map<Sort, Comparator<CommunityDto>> ORDERS = Map.of(
+            Sort.MEMBERS, Comparator.comparingInt(CommunityDto::getMembers).reversed()
+                    .thenComparing(CommunityDto::getId),
+            Sort.NEWEST, Comparator.comparing(CommunityDto::getCreatedAt,
+                    Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(CommunityDto::getId, Comparator.reverseOrder()),
+            Sort.NAME, Comparator.comparing(CommunityDto::getName, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(CommunityDto::getId));
+
+    private final CommunityRepository communityRepository;
+    private final CommunityMapper communityMapper;
+
+    private final CacheStats stats = new CacheStats("community-directory");
+    private final ReentrantLock firstLoad = new ReentrantLock();
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private volatile Map<Sort, List<CommunityDto>> snapshot;
+    private volatile boolean stale;
+
+    public CommunityListResponse page(Sort sort, int offset, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        int from = Math.max(0, offset);
+        List<CommunityDto> all = current().get(sort);
+        int to = Math.min(all.size(), from + pageSize);
+        return CommunityListResponse.builder()
+                .communities(from < to ? all.subList(from, to) : List.of())
+                .sort(sort.name().toLowerCase())
+                .total(all.size())
+                .limit(pageSize)
+                .offset(from)
+                .hasMore(to < all.size())
+                .success(true)
+                .build();
+    }
+
+    // Marks the directory stale once the current transaction commits
+    public void invalidate() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            stale = true;
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stale = true;
+            }
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        stats.bindTo(registry);
+    }
+
+    private Map<Sort, List<CommunityDto>> current() {
+        Map<Sort, List<CommunityDto>> current = snapshot;
+        if (current == null) {
+            // Nothing to serve yet, so readers wait for the first load. A lock
+            // rather than synchronized, so virtual threads waiting on the
+            // query do not pin their carriers.
+            firstLoad.lock();
+            try {
+                if (snapshot == null) {
+                    stats.miss();
+                    snapshot = load();
+                } else {
+                    stats.hit();
+                }
+                return snapshot;
+            } finally {
+                firstLoad.unlock();
+            }
+        }
+        if (!stale || !reloading.compareAndSet(false, true)) {
+            stats.hit();
+        } else {
+            stats.miss();
+            try {
+                stale = false;
+                snapshot = load();
+            } catch (Exception e) {
+                stale = true;
+                log.warn("Community directory reload failed, serving the previous snapshot: {}", e.getMessage());
+            } finally {
+                reloading.set(false);
+            }
+        }
+        return snapshot;
+    }
+
+    private Map<Sort, List<CommunityDto>> load() {
+        List<CommunityDto> all = communityRepository.findAllWithCreator().stream()
+                .map(communityMapper::toDto)
+                .collect(Collectors.toList());
+        return ORDERS.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey,
+                        e -> all.stream().sorted(e.getValue()).collect(Collectors.toUnmodifiableList())));
+    }
+}
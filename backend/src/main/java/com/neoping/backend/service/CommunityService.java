@@ -1,5 +1,6 @@
 package com.neoping.backend.service;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -10,7 +11,9 @@ import com.neoping.backend.dto.CommunityDto;
 import com.neoping.backend.exception.SpringRedditException;
 import com.neoping.backend.mapper.CommunityMapper;
 import com.neoping.backend.model.Community;
+import com.neoping.backend.model.CommunityMembership;
 import com.neoping.backend.model.User;
+import com.neoping.backend.repository.CommunityMembershipRepository;
 import com.neoping.backend.repository.CommunityRepository;
 import com.neoping.backend.repository.UserRepository;
 
@@ -20,8 +23,13 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class CommunityService {
     private final CommunityRepository communityRepository;
+    private final CommunityMembershipRepository membershipRepository;
     private final CommunityMapper communityMapper;
     private final UserRepository userRepository;
+    private final SearchIndexService searchIndexService;
+    private final TypeaheadService typeaheadService;
+    private final HomeFeedService homeFeedService;
+    private final CommunityDirectoryService communityDirectoryService;
 
     @Transactional
     public CommunityDto createCommunity(CommunityDto dto, String creatorUsername) {
@@ -33,19 +41,64 @@ public class CommunityService {
         Community community = communityMapper.fromDto(dto);
         community.setCreator(creator);
         Community saved = communityRepository.save(community);
+        // The creator is the first member, already counted by members = 1
+        membershipRepository.save(CommunityMembership.builder()
+                .community(saved)
+                .user(creator)
+                .joinedAt(Instant.now())
+                .build());
+        homeFeedService.onSubscriptionsChanged(creator.getId());
+        communityDirectoryService.invalidate();
+        searchIndexService.index(SearchIndexService.Type.COMMUNITY, saved.getId(), saved.getDisplayName(),
+                saved.getName() + " " + (saved.getDescription() != null ? saved.getDescription() : ""));
+        typeaheadService.addCommunity(saved.getId(), saved.getName(), saved.getDisplayName(), saved.getMembers());
         return communityMapper.toDto(saved);
     }
 
     @Transactional(readOnly = true)
     public List<CommunityDto> getAllCommunities() {
-        return communityRepository.findAll().stream()
+        return communityRepository.findAllWithCreator().stream()
                 .map(communityMapper::toDto)
                 .collect(Collectors.toList());
     }
 
+    // Joining twice is a no-op. A concurrent duplicate join fails on the
+    // unique key and rolls back together with its counter increment.
+    @Transactional
+    public CommunityDto join(Long communityId, String username) {
+        Community community = communityRepository.findById(communityId)
+                .orElseThrow(() -> new SpringRedditException("Community not found with id: " + communityId));
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new SpringRedditException("User not found: " + username));
+        if (!membershipRepository.existsByCommunityIdAndUserId(communityId, user.getId())) {
+            membershipRepository.save(CommunityMembership.builder()
+                    .community(community)
+                    .user(user)
+                    .joinedAt(Instant.now())
+                    .build());
+            communityRepository.adjustMembers(communityId, 1);
+            homeFeedService.onSubscriptionsChanged(user.getId());
+            communityDirectoryService.invalidate();
+        }
+        return getCommunity(communityId);
+    }
+
+    @Transactional
+    public CommunityDto leave(Long communityId, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new SpringRedditException("User not found: " + username));
+        int removed = membershipRepository.deleteMembership(communityId, user.getId());
+        if (removed > 0) {
+            communityRepository.adjustMembers(communityId, -removed);
+            homeFeedService.onSubscriptionsChanged(user.getId());
+            communityDirectoryService.invalidate();
+        }
+        return getCommunity(communityId);
+    }
+
     @Transactional(readOnly = true)
     public CommunityDto getCommunity(Long id) {
-        Community community = communityRepository.findById(id)
+        Community community = communityRepository.findWithCreatorById(id)
                 .orElseThrow(() -> new SpringRedditException("Community not found with id: " + id));
         return communityMapper.toDto(community);
     }
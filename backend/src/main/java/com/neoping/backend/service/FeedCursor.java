@@ -0,0 +1,32 @@
+package com.neoping.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+// Opaque keyset position shared by the community and home feeds: base64url
+// of "<createdDate>|<id>" of the last post served
+final class FeedCursor {
+    final Instant createdDate;
+    final Long id;
+
+    FeedCursor(Instant createdDate, Long id) {
+        this.createdDate = createdDate;
+        this.id = id;
+    }
+
+    static FeedCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf('|');
+            return new FeedCursor(Instant.parse(raw.substring(0, split)), Long.valueOf(raw.substring(split + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid feed cursor", e);
+        }
+    }
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdDate + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
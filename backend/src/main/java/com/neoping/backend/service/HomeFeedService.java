@@ -0,0 +1,221 @@
+package com.neoping.backend.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.neoping.backend.dto.PostListResponse;
+import com.neoping.backend.dto.PostSummary;
+import com.neoping.backend.exception.SpringRedditException;
+import com.neoping.backend.mapper.PostMapper;
+import com.neoping.backend.model.Post;
+import com.neoping.backend.model.User;
+import com.neoping.backend.repository.CommunityMembershipRepository;
+import com.neoping.backend.repository.PostRepository;
+import com.neoping.backend.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Home timeline: posts from every community the user has joined, newest
+// first. Users with up to neoping.feed.home.fanout-write-threshold
+// communities are served by fan-out on read, a k-way merge of one indexed
+// range read per community. Users above it would need too many reads per
+// page, so their timeline is precomputed in HomeTimelineStore and new posts
+// are pushed into it as they are published.
+@Service
+@Slf4j
+public class HomeFeedService implements MeterBinder {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final CommunityMembershipRepository membershipRepository;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final PostMapper postMapper;
+    private final HomeTimelineStore timelineStore;
+    private final int fanoutWriteThreshold;
+    private final CacheStats timelineStats = new CacheStats("home-timelines");
+    private final TransactionTemplate backlogTransaction;
+
+    public HomeFeedService(CommunityMembershipRepository membershipRepository, PostRepository postRepository,
+            UserRepository userRepository, PostMapper postMapper, HomeTimelineStore timelineStore,
+            @Value("${neoping.feed.home.fanout-write-threshold:50}") int fanoutWriteThreshold,
+            PlatformTransactionManager transactionManager) {
+        this.membershipRepository = membershipRepository;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.postMapper = postMapper;
+        this.timelineStore = timelineStore;
+        this.fanoutWriteThreshold = fanoutWriteThreshold;
+        // The backlog must include every post published before start(): the
+        // feed's read-only transaction may be on a lagging replica, and its
+        // snapshot may predate start(), so it is read on the primary in a
+        // transaction of its own that begins after start()
+        this.backlogTransaction = new TransactionTemplate(transactionManager);
+        this.backlogTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional(readOnly = true)
+    public PostListResponse getHomeFeed(String username, int limit, String cursor) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new SpringRedditException("User not found: " + username));
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        FeedCursor after = cursor == null || cursor.isBlank() ? null : FeedCursor.decode(cursor);
+        List<Long> communityIds = membershipRepository.findCommunityIdsByUserId(user.getId());
+
+        List<HomeTimelineStore.Entry> refs = null;
+        if (communityIds.size() > fanoutWriteThreshold) {
+            refs = readTimeline(user.getId(), communityIds, after, pageSize + 1);
+        }
+        if (refs == null) {
+            refs = mergeOnRead(communityIds, after, pageSize + 1);
+        }
+
+        boolean hasMore = refs.size() > pageSize;
+        List<HomeTimelineStore.Entry> page = hasMore ? refs.subList(0, pageSize) : refs;
+        HomeTimelineStore.Entry last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return PostListResponse.builder()
+                .posts(postMapper.mapToDtos(loadInOrder(page)))
+                .limit(pageSize)
+                .hasMore(hasMore)
+                .nextCursor(last == null ? null : new FeedCursor(last.getCreatedDate(), last.getPostId()).encode())
+                .success(true)
+                .build();
+    }
+
+    // Pushes a new post to the stored timelines that follow its community,
+    // once the post is committed
+    public void onPostCreated(Post post) {
+        if (post.getCommunity() == null) {
+            return;
+        }
+        Long communityId = post.getCommunity().getId();
+        HomeTimelineStore.Entry entry = new HomeTimelineStore.Entry(post.getId(), post.getCreatedDate());
+        afterCommit(() -> timelineStore.publish(communityId, entry));
+    }
+
+    public void onSubscriptionsChanged(Long userId) {
+        afterCommit(() -> timelineStore.invalidate(userId));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        timelineStats.bindTo(registry);
+    }
+
+    // Page from the precomputed timeline, building it on first use. Returns
+    // null when the page reaches past what the timeline holds.
+    private List<HomeTimelineStore.Entry> readTimeline(Long userId, List<Long> communityIds, FeedCursor after,
+            int count) {
+        Instant beforeDate = after != null ? after.createdDate : null;
+        Long beforeId = after != null ? after.id : null;
+        HomeTimelineStore.Page page = timelineStore.read(userId, beforeDate, beforeId, count);
+        if (page != null) {
+            timelineStats.hit();
+        } else {
+            timelineStats.miss();
+            timelineStore.start(userId, communityIds);
+            timelineStore.fill(userId, backlogTransaction.execute(status -> toEntries(
+                    postRepository.findFeedRefsForCommunities(communityIds,
+                            Limit.of(timelineStore.getTimelineLength())))));
+            log.debug("Built home timeline for user {} from {} communities", userId, communityIds.size());
+            page = timelineStore.read(userId, beforeDate, beforeId, count);
+        }
+        return page == null || page.isTruncated() ? null : page.getEntries();
+    }
+
+    // k-way merge of per-community cursors: each community contributes at most
+    // `count` refs after the cursor, and a heap keyed on each list's head
+    // yields the newest `count` overall
+    private List<HomeTimelineStore.Entry> mergeOnRead(List<Long> communityIds, FeedCursor after, int count) {
+        PriorityQueue<MergeCursor> heads = new PriorityQueue<>(
+                (a, b) -> HomeTimelineStore.NEWEST_FIRST.compare(a.head(), b.head()));
+        for (Long communityId : communityIds) {
+            List<Object[]> rows = after == null
+                    ? postRepository.findFeedRefs(communityId, Limit.of(count))
+                    : postRepository.findFeedRefsBefore(communityId, after.createdDate, after.id, Limit.of(count));
+            if (!rows.isEmpty()) {
+                heads.add(new MergeCursor(toEntries(rows)));
+            }
+        }
+        List<HomeTimelineStore.Entry> merged = new ArrayList<>(count);
+        while (merged.size() < count && !heads.isEmpty()) {
+            MergeCursor next = heads.poll();
+            merged.add(next.head());
+            if (next.advance()) {
+                heads.add(next);
+            }
+        }
+        return merged;
+    }
+
+    // One query for the page; posts deleted since they were referenced are skipped
+    private List<PostSummary> loadInOrder(List<HomeTimelineStore.Entry> refs) {
+        if (refs.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, PostSummary> byId = postRepository.findSummariesByIdIn(
+                refs.stream().map(HomeTimelineStore.Entry::getPostId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(PostSummary::getId, Function.identity()));
+        return refs.stream()
+                .map(ref -> byId.get(ref.getPostId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private static List<HomeTimelineStore.Entry> toEntries(List<Object[]> rows) {
+        return rows.stream()
+                .map(row -> new HomeTimelineStore.Entry((Long) row[0], (Instant) row[1]))
+                .collect(Collectors.toList());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class MergeCursor {
+        private final List<HomeTimelineStore.Entry> entries;
+        private int position;
+
+        private MergeCursor(List<HomeTimelineStore.Entry> entries) {
+            this.entries = entries;
+        }
+
+        private HomeTimelineStore.Entry head() {
+            return entries.get(position);
+        }
+
+        private boolean advance() {
+            return ++position < entries.size();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.neoping.backend.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+// Precomputed home timelines for users who follow many communities. Each
+// timeline is a newest-first list of post references capped at
+// neoping.feed.home.timeline-length; older posts are served by the read path.
+// At most neoping.feed.home.max-timelines are kept, least recently read
+// evicted first, and an evicted user is simply rebuilt on their next visit.
+// A community -> users index lets a new post reach its subscribers' timelines
+// without a database query.
+@Service
+public class HomeTimelineStore {
+
+    // Newest first; ties on createdDate broken by id, matching the feed queries
+    public static final Comparator<Entry> NEWEST_FIRST = Comparator.comparing((Entry e) -> e.createdDate)
+            .thenComparing(e -> e.postId)
+            .reversed();
+
+    private final int timelineLength;
+    private final int maxTimelines;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, Timeline> timelines = new LinkedHashMap<>(16, 0.75f, true);
+    // The same timelines by user, for writes: a get on the access-ordered map
+    // would count fan-out as a read and keep idle timelines from eviction
+    private final Map<Long, Timeline> timelinesForWrite = new HashMap<>();
+    private final Map<Long, Set<Long>> subscribersByCommunity = new HashMap<>();
+
+    public HomeTimelineStore(@Value("${neoping.feed.home.timeline-length:800}") int timelineLength,
+            @Value("${neoping.feed.home.max-timelines:10000}") int maxTimelines) {
+        this.timelineLength = timelineLength;
+        this.maxTimelines = maxTimelines;
+    }
+
+    public int getTimelineLength() {
+        return timelineLength;
+    }
+
+    // Up to limit entries older than the cursor position (all entries when
+    // beforeDate is null). Returns null when the user has no usable timeline:
+    // never built, evicted, or still loading.
+    public Page read(Long userId, Instant beforeDate, Long beforeId, int limit) {
+        lock.lock();
+        try {
+            Timeline timeline = timelines.get(userId);
+            if (timeline == null || !timeline.loaded) {
+                return null;
+            }
+            int from = 0;
+            if (beforeDate != null) {
+                from = Collections.binarySearch(timeline.entries, new Entry(beforeId, beforeDate), NEWEST_FIRST);
+                from = from >= 0 ? from + 1 : -from - 1;
+            }
+            int to = Math.min(timeline.entries.size(), from + limit);
+            List<Entry> entries = new ArrayList<>(timeline.entries.subList(from, to));
+            // A timeline at capacity has dropped older posts, so running off
+            // its end does not mean the feed is exhausted
+            boolean complete = timeline.entries.size() < timelineLength;
+            return new Page(entries, to == timeline.entries.size() && !complete);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Registers an empty timeline so posts published while it is being
+    // loaded are captured, then fill() supplies the backlog.
+    public void start(Long userId, Collection<Long> communityIds) {
+        lock.lock();
+        try {
+            drop(userId);
+            Timeline timeline = new Timeline(new HashSet<>(communityIds));
+            timelines.put(userId, timeline);
+            timelinesForWrite.put(userId, timeline);
+            for (Long communityId : timeline.communityIds) {
+                subscribersByCommunity.computeIfAbsent(communityId, k -> new HashSet<>()).add(userId);
+            }
+            evictOverflow();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void fill(Long userId, List<Entry> backlog) {
+        lock.lock();
+        try {
+            Timeline timeline = timelinesForWrite.get(userId);
+            if (timeline == null) {
+                return; // evicted or invalidated while loading
+            }
+            for (Entry entry : backlog) {
+                timeline.add(entry, timelineLength);
+            }
+            timeline.loaded = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Fan-out on write: pushes a new post onto every stored timeline that
+    // follows its community
+    public void publish(Long communityId, Entry entry) {
+        lock.lock();
+        try {
+            Set<Long> subscribers = subscribersByCommunity.get(communityId);
+            if (subscribers == null) {
+                return;
+            }
+            for (Long userId : subscribers) {
+                timelinesForWrite.get(userId).add(entry, timelineLength);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Subscriptions changed: the timeline is rebuilt on the next read
+    public void invalidate(Long userId) {
+        lock.lock();
+        try {
+            drop(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<Long, Timeline>> eldest = timelines.entrySet().iterator();
+        while (timelines.size() > maxTimelines && eldest.hasNext()) {
+            Map.Entry<Long, Timeline> evicted = eldest.next();
+            eldest.remove();
+            timelinesForWrite.remove(evicted.getKey());
+            unindex(evicted.getKey(), evicted.getValue());
+        }
+    }
+
+    private void drop(Long userId) {
+        Timeline removed = timelines.remove(userId);
+        timelinesForWrite.remove(userId);
+        if (removed != null) {
+            unindex(userId, removed);
+        }
+    }
+
+    private void unindex(Long userId, Timeline timeline) {
+        for (Long communityId : timeline.communityIds) {
+            Set<Long> users = subscribersByCommunity.get(communityId);
+            if (users != null && users.remove(userId) && users.isEmpty()) {
+                subscribersByCommunity.remove(communityId);
+            }
+        }
+    }
+
+    public static final class Entry {
+        private final Long postId;
+        private final Instant createdDate;
+
+        public Entry(Long postId, Instant createdDate) {
+            this.postId = postId;
+            this.createdDate = createdDate;
+        }
+
+        public Long getPostId() {
+            return postId;
+        }
+
+        public Instant getCreatedDate() {
+            return createdDate;
+        }
+    }
+
+    public static final class Page {
+        private final List<Entry> entries;
+        private final boolean truncated;
+
+        private Page(List<Entry> entries, boolean truncated) {
+            this.entries = entries;
+            this.truncated = truncated;
+        }
+
+        public List<Entry> getEntries() {
+            return entries;
+        }
+
+        // True when the page ran into the timeline's capacity limit and the
+        // rest must come from the read path
+        public boolean isTruncated() {
+            return truncated;
+        }
+    }
+
+    private static final class Timeline {
+        private final Set<Long> communityIds;
+        private final List<Entry> entries = new ArrayList<>();
+        private boolean loaded;
+
+        private Timeline(Set<Long> communityIds) {
+            this.communityIds = communityIds;
+        }
+
+        // Sorted insert, ignoring duplicates, then trims the oldest entries
+        private void add(Entry entry, int capacity) {
+            int at = Collections.binarySearch(entries, entry, NEWEST_FIRST);
+            if (at >= 0) {
+                return;
+            }
+            at = -at - 1;
+            if (at >= capacity) {
+                return;
+            }
+            entries.add(at, entry);
+            if (entries.size() > capacity) {
+                entries.remove(entries.size() - 1);
+            }
+        }
+    }
+}
@@ -19,11 +19,11 @@ public class MailService {
     private final JavaMailSender javaMailSender;
     private final MailContentBuilder mailContentBuilder;
 
-    @Async
+    @Async("mailTaskExecutor")
     public void sendMail(NotificationEmail notificationEmail) {
-        log.info("Sending email to: {}", notificationEmail.getRecipient());
-        log.info("Email subject: {}", notificationEmail.getSubject());
-        log.info("Email body: {}", notificationEmail.getBody());
+        log.debug("Sending email to: {}", notificationEmail.getRecipient());
+        log.debug("Email subject: {}", notificationEmail.getSubject());
+        log.trace("Email body: {}", notificationEmail.getBody());
 
         MimeMessagePreparator preparator = mimeMessage -> {
             MimeMessageHelper messageHelper = new MimeMessageHelper(mimeMessage, true);
@@ -32,7 +32,7 @@ public class MailService {
                 messageHelper.setSubject(notificationEmail.getSubject());
                 String emailContent = mailContentBuilder.build(notificationEmail.getBody());
                 messageHelper.setText(emailContent, true);
-                log.info("Email content generated successfully: {}", emailContent);
+                log.trace("Email content generated successfully: {}", emailContent);
             } catch (Exception e) {
                 log.error("Error preparing email: {}", e.getMessage(), e);
                 throw e;
@@ -10,6 +10,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.neoping.backend.dto.NewsDto;
 import com.neoping.backend.model.Bookmark;
@@ -27,6 +28,7 @@ public class NewsService {
     private final NewsRepository newsRepository;
     @Autowired
     private BookmarkRepository bookmarkRepository;
+    private final SearchIndexService searchIndexService;
 
     // Create a news article
     public NewsDto createNews(NewsDto newsDto) {
@@ -42,6 +44,7 @@ public class NewsService {
                 .comments(0)
                 .build();
         News saved = newsRepository.save(news);
+        searchIndexService.index(SearchIndexService.Type.NEWS, saved.getId(), saved.getTitle(), saved.getExcerpt());
         return toDto(saved);
     }
 
@@ -65,6 +68,11 @@ public class NewsService {
         Page<News> newsPage;
         if (category != null && !category.equalsIgnoreCase("All")) {
             newsPage = newsRepository.findByCategoryIgnoreCase(category, pageable);
+        } else if (search != null && !search.isEmpty() && searchIndexService.isReady()) {
+            List<Long> ids = searchIndexService.search(SearchIndexService.Type.NEWS, search, page, limit);
+            return SearchIndexService.inRankOrder(ids, newsRepository.findAllById(ids), News::getId).stream()
+                    .map(this::toDto)
+                    .collect(Collectors.toList());
         } else if (search != null && !search.isEmpty()) {
             newsPage = newsRepository.findByTitleContainingIgnoreCaseOrExcerptContainingIgnoreCase(search, search,
                     pageable);
@@ -74,6 +82,8 @@ public class NewsService {
         return newsPage.getContent().stream().map(this::toDto).collect(Collectors.toList());
     }
 
+    @Transactional
+    @RetryOnConflict
     public void upvoteNews(Long newsId, String username) {
         News news = newsRepository.findById(newsId)
                 .orElseThrow(() -> new RuntimeException("News not found"));
@@ -82,6 +92,8 @@ public class NewsService {
         // Optionally: track which users have upvoted to prevent multiple upvotes
     }
 
+    @Transactional
+    @RetryOnConflict
     public void downvoteNews(Long newsId, String username) {
         News news = newsRepository.findById(newsId)
                 .orElseThrow(() -> new RuntimeException("News not found"));
@@ -90,6 +102,9 @@ public class NewsService {
         // Optionally: track which users have downvoted
     }
 
+    // One transaction, so a retried conflict cannot store the comment twice
+    @Transactional
+    @RetryOnConflict
     public void addComment(Long newsId, String username, String commentText) {
         News news = newsRepository.findById(newsId)
                 .orElseThrow(() -> new RuntimeException("News not found"));
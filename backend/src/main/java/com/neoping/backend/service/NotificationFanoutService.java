@@ -0,0 +1,223 @@
+package com.neoping.backend.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.neoping.backend.model.EngagementEvent;
+import com.neoping.backend.model.Notification;
+import com.neoping.backend.repository.CommentRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Turns engagement events into notifications without touching the database on
+// the request thread. Events are folded in memory per (kind, target) so a
+// burst becomes one row per recipient ("12 people upvoted your post"), and a scheduled
+// flush writes everything that has been open longer than the collapse window
+// in one batch.
+@Service
+@Slf4j
+public class NotificationFanoutService {
+
+    private final NotificationService notificationService;
+    private final CommentRepository commentRepository;
+    private final long windowMillis;
+    private final int maxPending;
+    private final int maxRecipientsPerEvent;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, PendingNotification> pending = new HashMap<>();
+
+    public NotificationFanoutService(NotificationService notificationService,
+            CommentRepository commentRepository,
+            @Value("${neoping.notifications.fanout.window-ms:15000}") long windowMillis,
+            @Value("${neoping.notifications.fanout.max-pending:10000}") int maxPending,
+            @Value("${neoping.notifications.fanout.max-recipients-per-event:2}") int maxRecipientsPerEvent) {
+        this.notificationService = notificationService;
+        this.commentRepository = commentRepository;
+        this.windowMillis = windowMillis;
+        this.maxPending = maxPending;
+        this.maxRecipientsPerEvent = maxRecipientsPerEvent;
+    }
+
+    // Runs after the producing transaction commits (or straight away when the
+    // producer had none), so rolled-back writes never notify anyone
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngagement(EngagementEvent event) {
+        lock.lock();
+        try {
+            String key = event.getType() == EngagementEvent.Type.REPLY
+                    ? event.getType() + "|comment:" + event.getParentCommentId()
+                    : event.getType() + "|post:" + event.getPostId();
+            if (event.getType() == EngagementEvent.Type.MILESTONE) {
+                // Each milestone is its own notification
+                key = key + "|" + event.getVoteCount();
+            }
+            // A full backlog still folds events into entries it already holds,
+            // which costs nothing; only new entries are dropped
+            if (!pending.containsKey(key) && pending.size() >= maxPending) {
+                log.warn("Notification fan-out backlog full ({}), dropping {} event", maxPending, event.getType());
+                return;
+            }
+            pending.computeIfAbsent(key, k -> new PendingNotification(event, System.currentTimeMillis()))
+                    .add(event);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${neoping.notifications.fanout.flush-ms:1000}")
+    public void flush() {
+        long dueBefore = System.currentTimeMillis() - windowMillis;
+        List<PendingNotification> due = new ArrayList<>();
+        lock.lock();
+        try {
+            pending.values().removeIf(p -> {
+                if (p.openedAt <= dueBefore) {
+                    due.add(p);
+                    return true;
+                }
+                return false;
+            });
+        } finally {
+            lock.unlock();
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        try {
+            Map<Long, String> parentAuthors = resolveParentAuthors(due);
+            List<Notification> batch = new ArrayList<>();
+            for (PendingNotification p : due) {
+                for (String recipient : recipientsFor(p, parentAuthors)) {
+                    batch.add(p.toNotification(recipient, parentAuthors.get(p.parentCommentId)));
+                }
+            }
+            if (!batch.isEmpty()) {
+                notificationService.createNotifications(batch);
+                log.debug("Flushed {} notifications from {} collapsed events", batch.size(), due.size());
+            }
+        } catch (Exception e) {
+            log.error("Failed to write notification batch of {} events: {}", due.size(), e.getMessage(), e);
+        }
+    }
+
+    // One query for every reply target in the batch
+    private Map<Long, String> resolveParentAuthors(List<PendingNotification> due) {
+        Collection<Long> parentIds = due.stream()
+                .filter(p -> p.type == EngagementEvent.Type.REPLY)
+                .map(p -> p.parentCommentId)
+                .collect(Collectors.toSet());
+        Map<Long, String> authors = new HashMap<>();
+        if (!parentIds.isEmpty()) {
+            for (Object[] row : commentRepository.findAuthorsByIds(parentIds)) {
+                authors.put((Long) row[0], (String) row[1]);
+            }
+        }
+        return authors;
+    }
+
+    // Nobody is notified about their own actions, and no event reaches more
+    // than maxRecipientsPerEvent people
+    private List<String> recipientsFor(PendingNotification p, Map<Long, String> parentAuthors) {
+        Set<String> recipients = new LinkedHashSet<>();
+        if (p.type == EngagementEvent.Type.REPLY) {
+            String parentAuthor = parentAuthors.get(p.parentCommentId);
+            if (parentAuthor != null) {
+                recipients.add(parentAuthor);
+            }
+        }
+        if (p.postOwner != null) {
+            recipients.add(p.postOwner);
+        }
+        return recipients.stream()
+                .filter(r -> p.type == EngagementEvent.Type.MILESTONE || !p.actors.equals(Set.of(r)))
+                .limit(maxRecipientsPerEvent)
+                .collect(Collectors.toList());
+    }
+
+    private static final class PendingNotification {
+        private final EngagementEvent.Type type;
+        private final long openedAt;
+        private final Long postId;
+        private final String postTitle;
+        private final String postOwner;
+        private final Long parentCommentId;
+        private final Set<String> actors = new LinkedHashSet<>();
+        private EngagementEvent latest;
+
+        private PendingNotification(EngagementEvent first, long openedAt) {
+            this.type = first.getType();
+            this.openedAt = openedAt;
+            this.postId = first.getPostId();
+            this.postTitle = first.getPostTitle();
+            this.postOwner = first.getPostOwner();
+            this.parentCommentId = first.getParentCommentId();
+        }
+
+        private void add(EngagementEvent event) {
+            if (event.getActor() != null) {
+                actors.remove(event.getActor());
+                actors.add(event.getActor());
+            }
+            latest = event;
+        }
+
+        private Notification toNotification(String recipient, String parentAuthor) {
+            // The most recent actor other than the recipient leads the summary
+            String lead = actors.stream()
+                    .filter(a -> !a.equals(recipient))
+                    .reduce((first, second) -> second)
+                    .orElse(latest.getActor());
+            long others = actors.stream().filter(a -> !a.equals(recipient)).count() - 1;
+
+            String action;
+            String content = latest.getCommentContent() != null ? latest.getCommentContent() : postTitle;
+            switch (type) {
+                case COMMENT:
+                    action = "commented on your post";
+                    break;
+                case REPLY:
+                    action = recipient.equals(parentAuthor) ? "replied to your comment" : "commented on your post";
+                    break;
+                case UPVOTE:
+                    action = "upvoted your post";
+                    content = postTitle;
+                    break;
+                default:
+                    lead = null;
+                    others = 0;
+                    action = "Your post reached " + latest.getVoteCount() + " upvotes";
+                    content = postTitle;
+            }
+            if (others > 0) {
+                action = "and " + others + (others == 1 ? " other " : " others ") + action;
+            }
+
+            return Notification.builder()
+                    .type(type.name().toLowerCase())
+                    .user(lead)
+                    .action(action)
+                    .content(content)
+                    .time(Instant.now().toString())
+                    .read(false)
+                    .postId(postId != null ? String.valueOf(postId) : null)
+                    .commentId(latest.getCommentId() != null ? String.valueOf(latest.getCommentId()) : null)
+                    .recipient(recipient)
+                    .build();
+        }
+    }
+}
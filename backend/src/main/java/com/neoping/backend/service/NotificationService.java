@@ -1,37 +1,156 @@
 package com.neoping.backend.service;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import com.neoping.backend.dto.NotificationDto;
+import com.neoping.backend.dto.NotificationListResponse;
 import com.neoping.backend.model.Notification;
+import com.neoping.backend.model.NotificationCounter;
+import com.neoping.backend.repository.NotificationCounterRepository;
 import com.neoping.backend.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final NotificationRepository notificationRepository;
+    private final NotificationCounterRepository notificationCounterRepository;
+    private final NotificationStreamHub notificationStreamHub;
+
+    // Newest first. `before` pages back through history, `since` only returns
+    // notifications newer than the last one the client has seen.
+    @Transactional(readOnly = true)
+    public NotificationListResponse getNotificationsForUser(String username, int limit, Long before, Long since) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Fetch one extra row so hasMore doesn't need a COUNT
+        Limit fetch = Limit.of(pageSize + 1);
+        List<Notification> rows;
+        if (before != null && since != null) {
+            rows = notificationRepository.findByRecipientAndIdGreaterThanAndIdLessThanOrderByIdDesc(username, since,
+                    before, fetch);
+        } else if (before != null) {
+            rows = notificationRepository.findByRecipientAndIdLessThanOrderByIdDesc(username, before, fetch);
+        } else if (since != null) {
+            rows = notificationRepository.findByRecipientAndIdGreaterThanOrderByIdDesc(username, since, fetch);
+        } else {
+            rows = notificationRepository.findByRecipientOrderByIdDesc(username, fetch);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Notification> page = hasMore ? rows.subList(0, pageSize) : rows;
+        return NotificationListResponse.builder()
+                .notifications(page.stream().map(this::toDto).collect(Collectors.toList()))
+                .limit(pageSize)
+                .nextCursor(page.isEmpty() ? null : page.get(page.size() - 1).getId())
+                .hasMore(hasMore)
+                .success(true)
+                .build();
+    }
+
+    @Transactional
+    public long getUnreadCount(String username) {
+        return notificationCounterRepository.findById(username)
+                .map(NotificationCounter::getUnreadCount)
+                .orElseGet(() -> seedUnreadCounter(username));
+    }
+
+    @Transactional
+    public Notification createNotification(Notification notification) {
+        Notification saved = notificationRepository.save(notification);
+        if (!saved.isRead()) {
+            addUnread(saved.getRecipient(), 1);
+        }
+        publishAfterCommit(saved);
+        return saved;
+    }
 
-    public List<NotificationDto> getNotificationsForUser(String username) {
-        return notificationRepository.findByRecipientOrderByTimeDesc(username)
-                .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+    // Batch insert used by the fan-out flush: one transaction, one counter
+    // update per recipient
+    @Transactional
+    public void createNotifications(List<Notification> notifications) {
+        List<Notification> saved = notificationRepository.saveAll(notifications);
+        Map<String, Long> unreadByRecipient = saved.stream()
+                .filter(n -> !n.isRead())
+                .collect(Collectors.groupingBy(Notification::getRecipient, Collectors.counting()));
+        unreadByRecipient.forEach(this::addUnread);
+        saved.forEach(this::publishAfterCommit);
     }
 
+    // Opens an SSE stream; with a Last-Event-ID the missed notifications are
+    // replayed (up to one buffer's worth) before live events
+    public SseEmitter subscribe(String username, Long lastEventId) {
+        NotificationStreamHub.Subscription subscription = notificationStreamHub.open(username);
+        List<NotificationDto> replayed = Collections.emptyList();
+        boolean truncated = false;
+        if (lastEventId != null) {
+            int max = notificationStreamHub.getBufferSize();
+            List<Notification> missed = notificationRepository.findByRecipientAndIdGreaterThanOrderByIdDesc(
+                    username, lastEventId, Limit.of(max + 1));
+            truncated = missed.size() > max;
+            replayed = missed.subList(0, Math.min(missed.size(), max)).stream()
+                    .map(this::toDto)
+                    .collect(Collectors.toList());
+        }
+        notificationStreamHub.completeReplay(subscription, replayed, truncated);
+        return subscription.getEmitter();
+    }
+
+    @Transactional
     public void markAllAsRead(String username) {
-        List<Notification> notifications = notificationRepository.findByRecipientOrderByTimeDesc(username);
-        notifications.forEach(n -> n.setRead(true));
-        notificationRepository.saveAll(notifications);
+        notificationRepository.markAllAsRead(username);
+        notificationCounterRepository.reset(username);
     }
 
+    @Transactional
     public void markAsRead(Long id, String username) {
         Notification n = notificationRepository.findById(id)
                 .filter(notif -> notif.getRecipient().equals(username))
                 .orElseThrow();
-        n.setRead(true);
-        notificationRepository.save(n);
+        if (!n.isRead()) {
+            n.setRead(true);
+            notificationRepository.save(n);
+            notificationCounterRepository.decrement(username);
+        }
+    }
+
+    // First read for a recipient: count once, then keep the row up to date
+    private long seedUnreadCounter(String username) {
+        notificationCounterRepository.seed(username, 0);
+        return notificationCounterRepository.findById(username)
+                .map(NotificationCounter::getUnreadCount)
+                .orElse(0L);
+    }
+
+    // A recipient without a counter row gets one seeded in this transaction,
+    // counting the notifications just written
+    private void addUnread(String recipient, long delta) {
+        if (notificationCounterRepository.increment(recipient, delta) == 0) {
+            notificationCounterRepository.seed(recipient, delta);
+        }
+    }
+
+    private void publishAfterCommit(Notification saved) {
+        NotificationDto dto = toDto(saved);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notificationStreamHub.publish(saved.getRecipient(), dto);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                notificationStreamHub.publish(saved.getRecipient(), dto);
+            }
+        });
     }
 
     private NotificationDto toDto(Notification n) {
@@ -49,4 +168,4 @@ public class NotificationService {
                 .awardType(n.getAwardType())
                 .build();
     }
-}
\ No newline at end of file
+}
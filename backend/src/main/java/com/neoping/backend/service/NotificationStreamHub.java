@@ -0,0 +1,198 @@
+package com.neoping.backend.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import com.neoping.backend.dto.NotificationDto;
+
+import lombok.extern.slf4j.Slf4j;
+
+// In-memory fan-out of new notifications to open SSE connections, keyed by
+// recipient. Idle connections cost one emitter and an empty buffer; no thread
+// is held between events. Each connection has a bounded buffer drained on the
+// shared task executor; a client that falls behind is disconnected and
+// resumes from its Last-Event-ID instead of growing the heap.
+@Service
+@Slf4j
+public class NotificationStreamHub {
+
+    private final Map<String, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final TaskExecutor taskExecutor;
+    private final int bufferSize;
+    private final long timeoutMillis;
+
+    public NotificationStreamHub(@Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            @Value("${neoping.notifications.stream.buffer-size:64}") int bufferSize,
+            @Value("${neoping.notifications.stream.timeout-ms:1800000}") long timeoutMillis) {
+        this.taskExecutor = taskExecutor;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    // Registers a connection that holds live events back until the caller has
+    // supplied the replayed backlog via completeReplay.
+    public Subscription open(String recipient) {
+        Subscription subscription = new Subscription(recipient, new SseEmitter(timeoutMillis));
+        SseEmitter emitter = subscription.emitter;
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(() -> remove(subscription));
+        emitter.onError(e -> remove(subscription));
+        subscriptions.computeIfAbsent(recipient, k -> ConcurrentHashMap.newKeySet()).add(subscription);
+        return subscription;
+    }
+
+    public void completeReplay(Subscription subscription, List<NotificationDto> replayed, boolean truncated) {
+        subscription.lock.lock();
+        try {
+            // Live events that raced the replay query may also be in the backlog
+            List<NotificationDto> merged = new ArrayList<>(replayed);
+            for (NotificationDto live : subscription.heldBack) {
+                if (merged.stream().noneMatch(n -> n.getId().equals(live.getId()))) {
+                    merged.add(live);
+                }
+            }
+            merged.sort(Comparator.comparing(NotificationDto::getId));
+            subscription.heldBack = null;
+            if (truncated) {
+                // More was missed than we replay; tell the client to refetch over REST
+                subscription.buffer.add(SseEmitter.event().name("resync").data("{}"));
+            }
+            merged.forEach(n -> subscription.buffer.add(toEvent(n)));
+        } finally {
+            subscription.lock.unlock();
+        }
+        scheduleDrain(subscription);
+    }
+
+    public void publish(String recipient, NotificationDto notification) {
+        Set<Subscription> open = subscriptions.get(recipient);
+        if (open == null) {
+            return;
+        }
+        for (Subscription subscription : open) {
+            subscription.lock.lock();
+            try {
+                if (subscription.heldBack != null) {
+                    subscription.heldBack.add(notification);
+                    continue;
+                }
+            } finally {
+                subscription.lock.unlock();
+            }
+            enqueue(subscription, toEvent(notification));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${neoping.notifications.stream.heartbeat-ms:25000}")
+    public void sendHeartbeats() {
+        subscriptions.values().forEach(open -> open.forEach(
+                subscription -> enqueue(subscription, SseEmitter.event().comment("keep-alive"))));
+    }
+
+    public int getOpenConnectionCount() {
+        return subscriptions.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void enqueue(Subscription subscription, SseEventBuilder event) {
+        boolean overflow;
+        subscription.lock.lock();
+        try {
+            overflow = subscription.buffer.size() >= bufferSize;
+            if (!overflow) {
+                subscription.buffer.add(event);
+            }
+        } finally {
+            subscription.lock.unlock();
+        }
+        if (overflow) {
+            log.debug("Notification stream for {} fell behind, closing so it can resume", subscription.recipient);
+            remove(subscription);
+            subscription.emitter.complete();
+            return;
+        }
+        scheduleDrain(subscription);
+    }
+
+    private void scheduleDrain(Subscription subscription) {
+        if (subscription.draining.compareAndSet(false, true)) {
+            taskExecutor.execute(() -> drain(subscription));
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        while (true) {
+            SseEventBuilder next;
+            subscription.lock.lock();
+            try {
+                next = subscription.buffer.poll();
+                if (next == null) {
+                    subscription.draining.set(false);
+                    return;
+                }
+            } finally {
+                subscription.lock.unlock();
+            }
+            try {
+                subscription.emitter.send(next);
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the container reports completion separately
+                remove(subscription);
+                subscription.draining.set(false);
+                return;
+            }
+        }
+    }
+
+    private void remove(Subscription subscription) {
+        subscriptions.computeIfPresent(subscription.recipient, (k, open) -> {
+            open.remove(subscription);
+            return open.isEmpty() ? null : open;
+        });
+    }
+
+    private SseEventBuilder toEvent(NotificationDto notification) {
+        return SseEmitter.event()
+                .id(String.valueOf(notification.getId()))
+                .name("notification")
+                .data(notification);
+    }
+
+    public static final class Subscription {
+        private final String recipient;
+        private final SseEmitter emitter;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<SseEventBuilder> buffer = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // Non-null until the replay backlog has been queued
+        private List<NotificationDto> heldBack = new ArrayList<>();
+
+        private Subscription(String recipient, SseEmitter emitter) {
+            this.recipient = recipient;
+            this.emitter = emitter;
+        }
+
+        public SseEmitter getEmitter() {
+            return emitter;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.neoping.backend.service;
+
+import java.util.Locale;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.neoping.backend.model.PostCategoryCounter;
+import com.neoping.backend.repository.PostCategoryCounterRepository;
+import com.neoping.backend.repository.PostRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Per-category post counts read from a counter row instead of COUNT(*).
+// Create/update/delete adjust the row inside the caller's transaction; a
+// category without a row is counted once and seeded. An hourly reconcile
+// corrects any drift from writes that raced a seed.
+@Service
+@Slf4j
+public class PostCountService {
+
+    private final PostCategoryCounterRepository counterRepository;
+    private final PostRepository postRepository;
+    private final TransactionTemplate seedTransaction;
+
+    public PostCountService(PostCategoryCounterRepository counterRepository, PostRepository postRepository,
+            PlatformTransactionManager transactionManager) {
+        this.counterRepository = counterRepository;
+        this.postRepository = postRepository;
+        // Seeding writes, so it cannot join a read-only caller's transaction
+        this.seedTransaction = new TransactionTemplate(transactionManager);
+        this.seedTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public long getCategoryCount(String category) {
+        String key = key(category);
+        if (key == null) {
+            return 0;
+        }
+        return counterRepository.findById(key)
+                .map(PostCategoryCounter::getPostCount)
+                .orElseGet(() -> seed(category, key));
+    }
+
+    public void onPostCreated(String category) {
+        adjust(category, 1);
+    }
+
+    public void onPostDeleted(String category) {
+        adjust(category, -1);
+    }
+
+    public void onCategoryChanged(String oldCategory, String newCategory) {
+        String oldKey = key(oldCategory);
+        String newKey = key(newCategory);
+        if (oldKey == null ? newKey == null : oldKey.equals(newKey)) {
+            return;
+        }
+        adjust(oldCategory, -1);
+        adjust(newCategory, 1);
+    }
+
+    @Scheduled(initialDelayString = "${neoping.posts.category-count-reconcile-ms:3600000}",
+            fixedDelayString = "${neoping.posts.category-count-reconcile-ms:3600000}")
+    public void reconcile() {
+        try {
+            // One short transaction per category, so a reconcile never holds
+            // every counter row while posts are being written
+            for (String category : counterRepository.findAllCategories()) {
+                seedTransaction.executeWithoutResult(status -> counterRepository.recount(category));
+            }
+        } catch (Exception e) {
+            log.warn("Category count reconcile failed: {}", e.getMessage());
+        }
+    }
+
+    private void adjust(String category, long delta) {
+        String key = key(category);
+        if (key != null) {
+            counterRepository.increment(key, delta);
+        }
+    }
+
+    private long seed(String category, String key) {
+        long count = postRepository.countByCategory(category);
+        try {
+            seedTransaction.executeWithoutResult(
+                    status -> counterRepository.save(new PostCategoryCounter(key, count)));
+        } catch (DataIntegrityViolationException e) {
+            // Another request seeded it first; its value is just as fresh
+        }
+        return count;
+    }
+
+    // Categories compare case-insensitively, as the MySQL collation does
+    private static String key(String category) {
+        if (category == null || category.isBlank()) {
+            return null;
+        }
+        return category.trim().toLowerCase(Locale.ROOT);
+    }
+}
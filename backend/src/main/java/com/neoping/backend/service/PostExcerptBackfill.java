@@ -0,0 +1,51 @@
+package com.neoping.backend.service;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.neoping.backend.model.Post;
+import com.neoping.backend.repository.PostRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Fills Post.excerpt for rows written before the column existed, once at
+// startup, a range of ids per transaction so no statement holds many row
+// locks. Until a row is reached, PostMapper derives its excerpt from the body.
+@Component
+@Slf4j
+public class PostExcerptBackfill {
+
+    private static final long BATCH = 5_000;
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate transaction;
+
+    public PostExcerptBackfill(PostRepository postRepository, PlatformTransactionManager transactionManager) {
+        this.postRepository = postRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            Long maxId = postRepository.findMaxId();
+            if (maxId == null) {
+                return;
+            }
+            int filled = 0;
+            for (long afterId = 0; afterId < maxId; afterId += BATCH) {
+                long from = afterId;
+                filled += transaction.execute(status -> postRepository.backfillExcerpts(from, from + BATCH,
+                        Post.EXCERPT_LENGTH));
+            }
+            if (filled > 0) {
+                log.info("Filled in excerpts for {} posts", filled);
+            }
+        } catch (Exception e) {
+            log.error("Post excerpt backfill failed: {}", e.getMessage(), e);
+        }
+    }
+}
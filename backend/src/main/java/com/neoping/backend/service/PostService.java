@@ -1,20 +1,27 @@
 package com.neoping.backend.service;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
-import org.springframework.data.domain.Page;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.neoping.backend.dto.PostListResponse;
 import com.neoping.backend.dto.PostRequest;
 import com.neoping.backend.dto.PostResponse;
+import com.neoping.backend.dto.PostSummary;
 import com.neoping.backend.mapper.PostMapper;
+import com.neoping.backend.model.Community;
 import com.neoping.backend.model.Post;
 import com.neoping.backend.model.User;
+import com.neoping.backend.repository.CommunityRepository;
+import com.neoping.backend.repository.OffsetLimitRequest;
 import com.neoping.backend.repository.PostRepository;
 import com.neoping.backend.repository.UserRepository;
 
@@ -48,8 +55,17 @@ public class PostService {
     private final PostRepository postRepository;
 
     private final UserRepository userRepository;
+    private final CommunityRepository communityRepository;
     private final AuthService authService;
     private final PostMapper postMapper;
+    private final SearchIndexService searchIndexService;
+    private final PostCountService postCountService;
+    private final TotalCountService totalCountService;
+    private final HomeFeedService homeFeedService;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    // Prefix the app puts in front of community names
+    private static final String COMMUNITY_PREFIX = "n/";
 
     // ✅ NEW: Delete post by ID
     public void deletePost(Long postId, String currentUsername) {
@@ -61,6 +77,8 @@ public class PostService {
                 throw new RuntimeException("User not authorized to delete this post");
             }
             postRepository.delete(post);
+            postCountService.onPostDeleted(post.getCategory());
+            searchIndexService.remove(SearchIndexService.Type.POST, postId);
             log.info("✅ Post deleted: {}", postId);
         } catch (Exception e) {
             log.error("❌ Error deleting post: {}", e.getMessage(), e);
@@ -69,88 +87,94 @@ public class PostService {
     }
 
     // ✅ EXISTING: Basic get all posts
+    @Transactional(readOnly = true)
     public List<PostResponse> getAllPosts() {
-        return postRepository.findAll()
-                .stream()
-                .map(postMapper::mapToDto)
-                .collect(Collectors.toList());
+        return postMapper.mapToDtos(postRepository.findAllSummaries());
     }
 
+    @Transactional(readOnly = true)
     public List<PostResponse> getPopularPosts(int page, int limit, String category) {
-        Pageable pageable = PageRequest.of(page, limit, Sort.by(Sort.Direction.DESC, "voteCount"));
-        Page<Post> postPage;
+        List<PostSummary> posts;
         if (category != null && !category.isEmpty()) {
-            postPage = postRepository.findByCategoryIgnoreCase(category, pageable);
+            posts = postRepository.findPopularSummaryPageByCategory(category, PageRequest.of(page, limit));
         } else {
-            postPage = postRepository.findAll(pageable);
+            posts = postRepository.findPopularSummaryPage(PageRequest.of(page, limit));
         }
-        return postPage.getContent().stream()
-                .map(postMapper::mapToDto)
-                .collect(Collectors.toList());
+        return postMapper.mapToDtos(posts);
     }
 
+    @Transactional(readOnly = true)
     public List<PostResponse> getLatestPosts(int page, int limit, String search) {
-        Pageable pageable = PageRequest.of(page, limit, Sort.by(Sort.Direction.DESC, "createdDate"));
-        Page<Post> postPage;
+        if (search != null && !search.isEmpty() && searchIndexService.isReady()) {
+            // Ranked by relevance rather than date
+            List<Long> ids = searchIndexService.search(SearchIndexService.Type.POST, search, page, limit);
+            return postMapper.mapToDtos(SearchIndexService.inRankOrder(ids, postRepository.findSummariesByIdIn(ids),
+                    PostSummary::getId));
+        }
+        Pageable pageable = PageRequest.of(page, limit);
+        List<PostSummary> posts;
         if (search != null && !search.isEmpty()) {
-            postPage = postRepository.findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
-                    search, search, pageable);
+            posts = postRepository.searchSummaries(search, pageable);
         } else {
-            postPage = postRepository.findAll(pageable);
+            posts = postRepository.findSummaryPage(pageable);
         }
-        return postPage.getContent().stream()
-                .map(postMapper::mapToDto)
-                .collect(Collectors.toList());
+        return postMapper.mapToDtos(posts);
+    }
+
+    // Feed page for GET /api/posts and /api/posts/category/{category}. hasMore
+    // comes from fetching one extra row; total is a cached count that may lag
+    // by the configured staleness.
+    @Transactional(readOnly = true)
+    public PostListResponse getPostPage(int limit, int offset, String category, String currentUsername) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<PostSummary> rows = findPage(pageSize + 1, offset, category);
+        boolean hasMore = rows.size() > pageSize;
+        List<PostResponse> posts = mapPosts(hasMore ? rows.subList(0, pageSize) : rows);
+        return PostListResponse.builder()
+                .posts(posts)
+                .total(getTotalPostsCount(category))
+                .limit(pageSize)
+                .offset(offset)
+                .hasMore(hasMore)
+                .success(true)
+                .build();
     }
 
     // ✅ NEW: Get all posts with pagination and optional category filtering (WITH
     // DEBUG)
+    @Transactional(readOnly = true)
     public List<PostResponse> getAllPosts(int limit, int offset, String category, String currentUsername) {
+        return mapPosts(findPage(Math.max(1, Math.min(limit, MAX_PAGE_SIZE)), offset, category));
+    }
+
+    // Only the requested page is read, newest first
+    private List<PostSummary> findPage(int limit, int offset, String category) {
+        OffsetLimitRequest pageRequest = OffsetLimitRequest.of(Math.max(0, offset), limit);
+        return category != null && !category.isBlank()
+                ? postRepository.findSummaryPageByCategory(category, pageRequest)
+                : postRepository.findSummaryPage(pageRequest);
+    }
+
+    private List<PostResponse> mapPosts(List<PostSummary> paginatedPosts) {
         try {
-            log.info("📊 PostService: Getting posts - limit: {}, offset: {}, category: {}", limit, offset, category);
-
-            // ✅ Add debug logging
-            log.info("🔍 Debug: Step 1 - Fetching all posts from repository...");
-            List<Post> allPosts = postRepository.findAll(Sort.by(Sort.Direction.DESC, "createdDate"));
-            log.info("🔍 Debug: Step 2 - Found {} posts from repository", allPosts.size());
-
-            // Apply pagination manually
-            int startIndex = Math.min(offset, allPosts.size());
-            int endIndex = Math.min(startIndex + limit, allPosts.size());
-            List<Post> paginatedPosts = allPosts.subList(startIndex, endIndex);
-            log.info("🔍 Debug: Step 3 - Paginated to {} posts (start: {}, end: {})", paginatedPosts.size(), startIndex,
-                    endIndex);
-
-            log.info("🔍 Debug: Step 4 - Starting to map posts to DTOs...");
-            List<PostResponse> result = paginatedPosts.stream()
-                    .map(post -> {
-                        try {
-                            log.info("🔍 Debug: Step 4a - Mapping post with ID: {}", post.getId());
-                            PostResponse response = postMapper.mapToDto(post);
-                            log.info("🔍 Debug: Step 4b - Successfully mapped post ID: {}", post.getId());
-                            return response;
-                        } catch (Exception e) {
-                            log.error("❌ Debug: Error mapping post ID {}: {}", post.getId(), e.getMessage(), e);
-                            throw new RuntimeException("PostMapper failed for post " + post.getId(), e);
-                        }
-                    })
-                    .collect(Collectors.toList());
-
-            log.info("🔍 Debug: Step 5 - Successfully mapped {} posts", result.size());
-            return result;
+            log.debug("PostService: Mapping {} posts", paginatedPosts.size());
+
+            return postMapper.mapToDtos(paginatedPosts);
 
         } catch (Exception e) {
-            log.error("❌ Error in getAllPosts: {}", e.getMessage(), e);
-            log.error("❌ Full stack trace: ", e);
+            log.error("❌ Error mapping posts: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to fetch posts", e);
         }
     }
 
     // ✅ NEW: Get total posts count
+    @Transactional(readOnly = true)
     public int getTotalPostsCount(String category) {
         try {
-            // For now, return total count ignoring category
-            return (int) postRepository.count();
+            if (category != null && !category.isBlank()) {
+                return (int) postCountService.getCategoryCount(category);
+            }
+            return (int) totalCountService.getPostTotal();
         } catch (Exception e) {
             log.error("❌ Error getting total posts count: {}", e.getMessage());
             return 0;
@@ -158,11 +182,11 @@ public class PostService {
     }
 
     // ✅ NEW: Get posts by category with pagination
+    @Transactional(readOnly = true)
     public List<PostResponse> getPostsByCategory(String category, int limit, int offset, String currentUsername) {
         try {
-            log.info("📂 PostService: Getting posts by category: {}", category);
+            log.debug("PostService: Getting posts by category: {}", category);
 
-            // For now, return all posts (implement category filtering later)
             return getAllPosts(limit, offset, category, currentUsername);
 
         } catch (Exception e) {
@@ -172,10 +196,10 @@ public class PostService {
     }
 
     // ✅ NEW: Get total posts count by category
+    @Transactional(readOnly = true)
     public int getTotalPostsByCategoryCount(String category) {
         try {
-            // For now, return total count ignoring category
-            return getTotalPostsCount(category);
+            return (int) postCountService.getCategoryCount(category);
         } catch (Exception e) {
             log.error("❌ Error getting total posts count by category: {}", e.getMessage());
             return 0;
@@ -183,18 +207,14 @@ public class PostService {
     }
 
     // ✅ NEW: Get popular posts
+    @Transactional(readOnly = true)
     public List<PostResponse> getPopularPosts(int limit, String timeframe, String currentUsername) {
         try {
-            log.info("🏆 PostService: Getting popular posts - limit: {}, timeframe: {}", limit, timeframe);
+            log.debug("PostService: Getting popular posts - limit: {}, timeframe: {}", limit, timeframe);
 
             // For now, return posts sorted by vote count (implement real popularity logic
             // later)
-            List<Post> posts = postRepository.findAll(Sort.by(Sort.Direction.DESC, "voteCount"));
-
-            return posts.stream()
-                    .limit(limit)
-                    .map(postMapper::mapToDto)
-                    .collect(Collectors.toList());
+            return postMapper.mapToDtos(postRepository.findPopularSummaryPage(PageRequest.of(0, Math.max(1, limit))));
 
         } catch (Exception e) {
             log.error("❌ Error getting popular posts: {}", e.getMessage(), e);
@@ -203,9 +223,10 @@ public class PostService {
     }
 
     // ✅ UPDATED: Get post by ID with optional current user context
+    @Transactional(readOnly = true)
     public PostResponse getPostById(Long id, String currentUsername) {
         try {
-            Post post = postRepository.findById(id)
+            Post post = postRepository.findWithBodyById(id)
                     .orElseThrow(() -> new RuntimeException("Post not found with id: " + id));
             return postMapper.mapToDto(post);
         } catch (Exception e) {
@@ -215,6 +236,7 @@ public class PostService {
     }
 
     // ✅ EXISTING: Get post by ID (keep for backward compatibility)
+    @Transactional(readOnly = true)
     public PostResponse getPostById(Long id) {
         return getPostById(id, null);
     }
@@ -224,7 +246,7 @@ public class PostService {
 
     public LikeResult toggleLike(Long postId, String username) {
         try {
-            log.info("👍 PostService: Toggling like for post {} by user {}", postId, username);
+            log.debug("PostService: Toggling like for post {} by user {}", postId, username);
 
             // Find the post
             Post post = postRepository.findById(postId)
@@ -244,21 +266,13 @@ public class PostService {
                 currentVotes = 0L;
 
             // Toggle the like (simplified - you should use a proper likes table)
-            if (currentVotes > 0) {
-                // Unlike
-                post.setVoteCount(currentVotes - 1);
-                isLiked = false;
-            } else {
-                // Like
-                post.setVoteCount(currentVotes + 1);
-                isLiked = true;
-            }
-
-            postRepository.save(post);
+            isLiked = currentVotes <= 0;
+            postRepository.adjustVoteCount(postId, isLiked ? 1 : -1);
+            Long likes = postRepository.findVoteCountById(postId);
 
-            log.info("✅ Like toggled: post {} now has {} votes, liked: {}", postId, post.getVoteCount(), isLiked);
+            log.debug("Like toggled: post {} now has {} votes, liked: {}", postId, likes, isLiked);
 
-            return new LikeResult(isLiked, post.getVoteCount().intValue());
+            return new LikeResult(isLiked, likes.intValue());
 
         } catch (Exception e) {
             log.error("❌ Error toggling like: {}", e.getMessage(), e);
@@ -269,8 +283,79 @@ public class PostService {
     // ✅ EXISTING: Save post (keep as is)
     public void save(PostRequest postRequest) {
         User currentUser = authService.getCurrentUser();
-        Post post = postMapper.map(postRequest, currentUser);
-        postRepository.save(post);
+        Post mapped = postMapper.map(postRequest, currentUser);
+        mapped.setCommunity(resolveCommunity(postRequest.getCommunity()).orElse(null));
+        Post post = postRepository.save(mapped);
+        postCountService.onPostCreated(post.getCategory());
+        homeFeedService.onPostCreated(post);
+        searchIndexService.index(SearchIndexService.Type.POST, post.getId(), post.getTitle(), post.getDescription());
+    }
+
+    // Community feed, newest first. The cursor carries the (createdDate, id)
+    // of the last post served, so each page is an index range read however
+    // deep the client scrolls.
+    @Transactional(readOnly = true)
+    public PostListResponse getCommunityFeed(Long communityId, int limit, String cursor) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Limit fetch = Limit.of(pageSize + 1);
+        List<PostSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = postRepository.findCommunityFeed(communityId, fetch);
+        } else {
+            FeedCursor after = FeedCursor.decode(cursor);
+            rows = postRepository.findCommunityFeedBefore(communityId, after.createdDate, after.id, fetch);
+        }
+        boolean hasMore = rows.size() > pageSize;
+        List<PostSummary> page = hasMore ? rows.subList(0, pageSize) : rows;
+        PostSummary last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return PostListResponse.builder()
+                .posts(mapPosts(page))
+                .limit(pageSize)
+                .hasMore(hasMore)
+                .nextCursor(last == null ? null : new FeedCursor(last.getCreatedDate(), last.getId()).encode())
+                .success(true)
+                .build();
+    }
+
+    // Accepts a community name or id, the name first so an all-digit name
+    // still resolves. The app sends names as "n/<name>" in any case, while
+    // communities are stored lowercase without the prefix, so the prefix is
+    // dropped and names compare case-insensitively. A post naming no known
+    // community is kept without one: the app's picker still offers names
+    // that may not exist yet, so rejecting them would fail its posts.
+    private Optional<Community> resolveCommunity(String community) {
+        if (community == null || community.isBlank()) {
+            return Optional.empty();
+        }
+        String key = community.trim();
+        if (key.regionMatches(true, 0, COMMUNITY_PREFIX, 0, COMMUNITY_PREFIX.length())) {
+            key = key.substring(COMMUNITY_PREFIX.length()).trim();
+        }
+        if (key.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<Community> found = communityRepository.findByNameIgnoreCase(key);
+        if (found.isEmpty()) {
+            Long id = parseId(key);
+            if (id != null) {
+                found = communityRepository.findById(id);
+            }
+        }
+        if (found.isEmpty()) {
+            log.info("Unknown community '{}' on new post, saved without one", community);
+        }
+        return found;
+    }
+
+    private static Long parseId(String key) {
+        if (!key.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(key);
+        } catch (NumberFormatException e) {
+            return null; // beyond the id range
+        }
     }
 
     // ✅ EXISTING: Get posts by username (FIXED)
@@ -280,13 +365,11 @@ public class PostService {
                 .orElseThrow(() -> new RuntimeException("User not found with username: " + username));
 
         // ✅ FIX: Use the correct repository method that actually exists
-        return postRepository.findByUserUsername(username) // ← This method exists in your repository
-                .stream()
-                .map(postMapper::mapToDto)
-                .collect(Collectors.toList());
+        return postMapper.mapToDtos(postRepository.findSummariesByUsername(username)); // ← This method exists in your repository
     }
 
-    // ✅ NEW: Update post by ID
+    // ✅ NEW: Update post by ID. A request carrying the version it was based
+    // on fails with a conflict if the post has changed since.
     public PostResponse updatePost(Long postId, PostRequest postRequest, String currentUsername) {
         try {
             log.info("✏️ PostService: Updating post {} by user {}", postId, currentUsername);
@@ -298,16 +381,26 @@ public class PostService {
             if (currentUsername != null && !post.getUser().getUsername().equals(currentUsername)) {
                 throw new RuntimeException("User not authorized to update this post");
             }
+            if (postRequest.getVersion() != null && !postRequest.getVersion().equals(post.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Post.class, postId);
+            }
 
             // Update fields (only those allowed)
+            postCountService.onCategoryChanged(post.getCategory(), postRequest.getCategory());
             post.setTitle(postRequest.getTitle());
             post.setDescription(postRequest.getDescription());
             post.setCategory(postRequest.getCategory());
             // Add more fields as needed
 
-            postRepository.save(post);
+            // Flushed so the response carries the version the edit produced
+            postRepository.saveAndFlush(post);
+            searchIndexService.index(SearchIndexService.Type.POST, post.getId(), post.getTitle(),
+                    post.getDescription());
             log.info("✅ Post updated: {}", postId);
             return postMapper.mapToDto(post);
+        } catch (OptimisticLockingFailureException e) {
+            log.debug("Post {} changed since version {}", postId, postRequest.getVersion());
+            throw e;
         } catch (Exception e) {
             log.error("❌ Error updating post: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to update post", e);
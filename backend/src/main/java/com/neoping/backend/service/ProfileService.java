@@ -1,6 +1,8 @@
 package com.neoping.backend.service;
 
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.neoping.backend.dto.ProfileDto;
 import com.neoping.backend.model.Profile;
@@ -16,15 +18,20 @@ public class ProfileService {
     private final ProfileRepository profileRepository;
     private final UserRepository userRepository;
 
+    @Transactional(readOnly = true)
     public ProfileDto getUserProfile(String username) {
         Profile profile = profileRepository.findByUserUsername(username)
                 .orElseThrow(() -> new RuntimeException("Profile not found"));
         return toDto(profile);
     }
 
+    @Transactional
     public ProfileDto updateUserProfile(String username, ProfileDto profileDto) {
         Profile profile = profileRepository.findByUserUsername(username)
                 .orElseThrow(() -> new RuntimeException("Profile not found"));
+        if (profileDto.getVersion() != null && !profileDto.getVersion().equals(profile.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Profile.class, profile.getId());
+        }
 
         profile.setAvatar(profileDto.getAvatar());
         profile.setBio(profileDto.getBio());
@@ -39,7 +46,8 @@ public class ProfileService {
             profile.getUser().setPassword(profileDto.getPassword());
         }
 
-        profileRepository.save(profile);
+        // Flushed so the response carries the version the edit produced
+        profileRepository.saveAndFlush(profile);
         return toDto(profile);
     }
 
@@ -68,6 +76,7 @@ public class ProfileService {
                 .avatar(profile.getAvatar())
                 .bio(profile.getBio())
                 .created(profile.getCreated())
+                .version(profile.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,24 @@
+package com.neoping.backend.service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+// Reruns a write that lost an optimistic lock race, in a fresh transaction
+// (the retry advice wraps the transactional one). Only for writes that
+// re-read what they change and apply the caller's intent again, such as a
+// vote or a counter bump; an edit carrying client-supplied content must fail
+// with a conflict instead, so the client sees what changed.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(retryFor = OptimisticLockingFailureException.class, maxAttempts = 5,
+        backoff = @Backoff(delay = 20, multiplier = 2, random = true))
+@interface RetryOnConflict {
+}
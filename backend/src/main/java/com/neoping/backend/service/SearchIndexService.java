@@ -0,0 +1,440 @@
+package com.neoping.backend.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.neoping.backend.dto.SearchResultDto;
+import com.neoping.backend.repository.CommunityRepository;
+import com.neoping.backend.repository.NewsRepository;
+import com.neoping.backend.repository.PostRepository;
+import com.neoping.backend.repository.UserRepository;
+import com.neoping.backend.repository.VideoRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// In-memory Lucene index over posts, news, videos, communities and users.
+// Ranked by BM25 with title matches boosted; the last word of a query also
+// matches as a prefix so results appear while the user is still typing. The index is rebuilt from the
+// database at startup and periodically (which also picks up writes made by
+// other instances); writes on this instance are applied as they commit and
+// become searchable within one refresh interval. Until the first build
+// finishes isReady() is false and callers fall back to their database query.
+@Service
+@Slf4j
+public class SearchIndexService {
+
+    public enum Type {
+        POST, NEWS, VIDEO, COMMUNITY, USER
+    }
+
+    private static final float TITLE_BOOST = 3f;
+    private static final int MAX_RESULTS = 1000;
+    private static final int REBUILD_BATCH = 500;
+    private static final int SNIPPET_LENGTH = 200;
+
+    private final PostRepository postRepository;
+    private final NewsRepository newsRepository;
+    private final VideoRepository videoRepository;
+    private final CommunityRepository communityRepository;
+    private final UserRepository userRepository;
+    private final TaskExecutor taskExecutor;
+    private final Analyzer analyzer = new SearchAnalyzer();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile Index current;
+    // Non-null while a rebuild is running: updates to replay onto the new index
+    private List<IndexUpdate> updatesDuringRebuild;
+
+    public SearchIndexService(PostRepository postRepository, NewsRepository newsRepository,
+            VideoRepository videoRepository, CommunityRepository communityRepository, UserRepository userRepository,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.postRepository = postRepository;
+        this.newsRepository = newsRepository;
+        this.videoRepository = videoRepository;
+        this.communityRepository = communityRepository;
+        this.userRepository = userRepository;
+        this.taskExecutor = taskExecutor;
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    // Ids of the matching documents of one type, best match first
+    public List<Long> search(Type type, String text, int page, int limit) {
+        return hits(type, text, page * limit, limit).stream()
+                .map(SearchResultDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    // Top matches of one type with their raw scores, answered entirely from the
+    // index (title and snippet are stored), so no database round trip
+    public List<SearchResultDto> searchHits(Type type, String text, int limit) {
+        return hits(type, text, 0, limit);
+    }
+
+    private List<SearchResultDto> hits(Type type, String text, int from, int limit) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty() || from >= MAX_RESULTS) {
+            return Collections.emptyList();
+        }
+        Index index = acquireCurrent();
+        if (index == null) {
+            return Collections.emptyList();
+        }
+        try {
+            IndexSearcher searcher = index.searchers.acquire();
+            try {
+                TopDocs top = searcher.search(buildQuery(type, terms), Math.min(from + limit, MAX_RESULTS));
+                StoredFields stored = searcher.storedFields();
+                List<SearchResultDto> hits = new ArrayList<>();
+                for (int i = from; i < top.scoreDocs.length; i++) {
+                    ScoreDoc hit = top.scoreDocs[i];
+                    Document doc = stored.document(hit.doc);
+                    hits.add(SearchResultDto.builder()
+                            .type(type.name().toLowerCase())
+                            .id(doc.getField("id").numericValue().longValue())
+                            .title(doc.get("title"))
+                            .snippet(doc.get("snippet"))
+                            .score(hit.score)
+                            .build());
+                }
+                return hits;
+            } finally {
+                index.searchers.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            index.decRef();
+        }
+    }
+
+    // Orders loaded entities the way the index ranked them
+    public static <T> List<T> inRankOrder(List<Long> ids, List<T> rows, Function<T, Long> idOf) {
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        List<T> ordered = new ArrayList<>(rows);
+        ordered.sort(Comparator.comparing(row -> rank.getOrDefault(idOf.apply(row), Integer.MAX_VALUE)));
+        return ordered;
+    }
+
+    public void index(Type type, Long id, String title, String body) {
+        Document doc = toDocument(type, id, title, body);
+        applyAfterCommit(writer -> writer.updateDocument(new Term("key", key(type, id)), doc));
+    }
+
+    public void remove(Type type, Long id) {
+        applyAfterCommit(writer -> writer.deleteDocuments(new Term("key", key(type, id))));
+    }
+
+    @Scheduled(fixedDelayString = "${neoping.search.refresh-ms:1000}")
+    public void refresh() {
+        Index index = acquireCurrent();
+        if (index == null) {
+            return;
+        }
+        try {
+            index.searchers.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("Search index refresh failed: {}", e.getMessage());
+        } finally {
+            index.decRef();
+        }
+    }
+
+    // Runs once at startup and then every rebuild interval, off the scheduler thread
+    @Scheduled(initialDelay = 0, fixedDelayString = "${neoping.search.rebuild-ms:600000}")
+    public void scheduleRebuild() {
+        if (rebuilding.compareAndSet(false, true)) {
+            taskExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            if (current != null) {
+                current.decRef();
+                current = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.lock();
+        try {
+            updatesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+        Index fresh = null;
+        try {
+            fresh = new Index(analyzer);
+            int docs = load(fresh.writer, Type.POST, postRepository::findSearchRowsAfter)
+                    + load(fresh.writer, Type.NEWS, newsRepository::findSearchRowsAfter)
+                    + load(fresh.writer, Type.VIDEO, videoRepository::findSearchRowsAfter)
+                    + load(fresh.writer, Type.COMMUNITY, communityRepository::findSearchRowsAfter)
+                    + load(fresh.writer, Type.USER, userRepository::findSearchRowsAfter);
+            Index previous;
+            lock.lock();
+            try {
+                // Writes that committed while we were reading are replayed in order
+                for (IndexUpdate update : updatesDuringRebuild) {
+                    update.applyTo(fresh.writer);
+                }
+                fresh.searchers.maybeRefresh();
+                previous = current;
+                current = fresh;
+                fresh = null;
+            } finally {
+                updatesDuringRebuild = null;
+                lock.unlock();
+            }
+            // Closed once the searches still holding it finish
+            if (previous != null) {
+                previous.decRef();
+            }
+            log.info("Search index rebuilt: {} documents in {} ms", docs, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Search index rebuild failed: {}", e.getMessage(), e);
+            lock.lock();
+            try {
+                updatesDuringRebuild = null;
+            } finally {
+                lock.unlock();
+            }
+            if (fresh != null) {
+                fresh.close();
+            }
+        }
+    }
+
+    private int load(IndexWriter writer, Type type, BiFunction<Long, Limit, List<Object[]>> rowsAfter)
+            throws IOException {
+        int count = 0;
+        long afterId = 0;
+        while (true) {
+            List<Object[]> rows = rowsAfter.apply(afterId, Limit.of(REBUILD_BATCH));
+            for (Object[] row : rows) {
+                afterId = (Long) row[0];
+                writer.addDocument(toDocument(type, afterId, (String) row[1], (String) row[2]));
+            }
+            count += rows.size();
+            if (rows.size() < REBUILD_BATCH) {
+                return count;
+            }
+        }
+    }
+
+    // The current index with a reference held, or null before the first
+    // build; release it with decRef(). Retries when a rebuild swaps the index
+    // and drops its last reference between the read and the increment.
+    private Index acquireCurrent() {
+        while (true) {
+            Index index = current;
+            if (index == null || index.tryIncRef()) {
+                return index;
+            }
+        }
+    }
+
+    // Rolled-back writes are never indexed
+    private void applyAfterCommit(IndexUpdate update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(update);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(update);
+            }
+        });
+    }
+
+    private void apply(IndexUpdate update) {
+        lock.lock();
+        try {
+            if (updatesDuringRebuild != null) {
+                updatesDuringRebuild.add(update);
+            }
+            if (current != null) {
+                update.applyTo(current.writer);
+            }
+        } catch (IOException e) {
+            log.error("Failed to update search index: {}", e.getMessage(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Every term must match in the title or body; the last may be a prefix
+    private Query buildQuery(Type type, List<String> terms) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term("type", type.name())), Occur.FILTER);
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            BooleanQuery.Builder either = new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term("title", term)), TITLE_BOOST), Occur.SHOULD)
+                    .add(new TermQuery(new Term("body", term)), Occur.SHOULD);
+            if (i == terms.size() - 1 && term.length() >= 2) {
+                either.add(new BoostQuery(new PrefixQuery(new Term("title", term)), TITLE_BOOST), Occur.SHOULD);
+                either.add(new PrefixQuery(new Term("body", term)), Occur.SHOULD);
+            }
+            query.add(either.build(), Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        try (TokenStream stream = analyzer.tokenStream("body", text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private static Document toDocument(Type type, Long id, String title, String body) {
+        Document doc = new Document();
+        doc.add(new StringField("key", key(type, id), Field.Store.NO));
+        doc.add(new StringField("type", type.name(), Field.Store.NO));
+        doc.add(new StoredField("id", id));
+        doc.add(new TextField("title", title != null ? title : "", Field.Store.YES));
+        doc.add(new TextField("body", body != null ? body : "", Field.Store.NO));
+        if (body != null && !body.isEmpty()) {
+            doc.add(new StoredField("snippet", body.length() > SNIPPET_LENGTH ? body.substring(0, SNIPPET_LENGTH) : body));
+        }
+        return doc;
+    }
+
+    private static String key(Type type, Long id) {
+        return type.name() + ":" + id;
+    }
+
+    @FunctionalInterface
+    private interface IndexUpdate {
+        void applyTo(IndexWriter writer) throws IOException;
+    }
+
+    // Reference-counted: `current` holds one reference and each search holds
+    // another while it runs, so a rebuild never closes an index in use
+    private static final class Index {
+        private final ByteBuffersDirectory directory = new ByteBuffersDirectory();
+        private final IndexWriter writer;
+        private final SearcherManager searchers;
+        private final AtomicInteger refs = new AtomicInteger(1);
+
+        private Index(Analyzer analyzer) throws IOException {
+            this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+            this.searchers = new SearcherManager(writer, null);
+        }
+
+        private boolean tryIncRef() {
+            int count;
+            while ((count = refs.get()) > 0) {
+                if (refs.compareAndSet(count, count + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void decRef() {
+            if (refs.decrementAndGet() == 0) {
+                close();
+            }
+        }
+
+        private void close() {
+            try {
+                searchers.close();
+                writer.close();
+                directory.close();
+            } catch (IOException e) {
+                log.warn("Failed to close search index: {}", e.getMessage());
+            }
+        }
+    }
+
+    // Unicode word splitting, lower-cased and accent-folded ("Café" finds "cafe")
+    private static final class SearchAnalyzer extends Analyzer {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = new StandardTokenizer();
+            TokenStream stream = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+            return new TokenStreamComponents(tokenizer, stream);
+        }
+    }
+}
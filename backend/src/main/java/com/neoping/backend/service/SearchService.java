@@ -0,0 +1,96 @@
+package com.neoping.backend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.neoping.backend.dto.SearchResponse;
+import com.neoping.backend.dto.SearchResultDto;
+import com.neoping.backend.service.SearchIndexService.Type;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Cross-entity search: one index query per type, run in parallel, each with
+// its own deadline. A type that misses its deadline or fails is left out and
+// the response is marked partial instead of holding up the others.
+@Service
+@Slf4j
+public class SearchService {
+    private static final int MAX_LIMIT = 50;
+
+    // BM25 scores are not comparable across types (different term statistics),
+    // so each type's scores are scaled to its best hit and then weighted.
+    // Communities and people are usually what a short query is looking for.
+    private static final Map<Type, Float> TYPE_WEIGHTS = Map.of(
+            Type.COMMUNITY, 1.2f,
+            Type.USER, 1.1f,
+            Type.POST, 1.0f,
+            Type.NEWS, 0.9f,
+            Type.VIDEO, 0.9f);
+
+    private final SearchIndexService searchIndexService;
+    private final TaskExecutor taskExecutor;
+    private final long typeTimeoutMillis;
+
+    public SearchService(SearchIndexService searchIndexService,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            @Value("${neoping.search.type-timeout-ms:300}") long typeTimeoutMillis) {
+        this.searchIndexService = searchIndexService;
+        this.taskExecutor = taskExecutor;
+        this.typeTimeoutMillis = typeTimeoutMillis;
+    }
+
+    public boolean isReady() {
+        return searchIndexService.isReady();
+    }
+
+    public SearchResponse search(String query, Set<Type> types, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Map<Type, CompletableFuture<List<SearchResultDto>>> pending = new EnumMap<>(Type.class);
+        for (Type type : types) {
+            pending.put(type, CompletableFuture
+                    .supplyAsync(() -> searchIndexService.searchHits(type, query, size), taskExecutor::execute)
+                    .completeOnTimeout(null, typeTimeoutMillis, TimeUnit.MILLISECONDS)
+                    .exceptionally(e -> {
+                        log.warn("{} search failed: {}", type, e.getMessage());
+                        return null;
+                    }));
+        }
+
+        List<SearchResultDto> merged = new ArrayList<>();
+        List<String> unavailable = new ArrayList<>();
+        pending.forEach((type, future) -> {
+            List<SearchResultDto> hits = future.join();
+            if (hits == null) {
+                unavailable.add(type.name().toLowerCase());
+                return;
+            }
+            if (hits.isEmpty()) {
+                return;
+            }
+            float best = hits.get(0).getScore();
+            float weight = TYPE_WEIGHTS.get(type);
+            hits.forEach(hit -> hit.setScore(best > 0 ? weight * hit.getScore() / best : 0));
+            merged.addAll(hits);
+        });
+        merged.sort(Comparator.comparing(SearchResultDto::getScore).reversed());
+
+        return SearchResponse.builder()
+                .query(query)
+                .results(merged.size() > size ? merged.subList(0, size) : merged)
+                .partial(!unavailable.isEmpty())
+                .unavailable(unavailable)
+                .success(true)
+                .build();
+    }
+}
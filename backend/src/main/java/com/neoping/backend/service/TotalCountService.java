@@ -0,0 +1,103 @@
+package com.neoping.backend.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.neoping.backend.repository.PostRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Totals for paginated list responses. They only label the UI ("1.2k posts")
+// and never decide hasMore, so each is served from a cache for up to
+// neoping.counts.max-staleness-ms. When an entry goes stale one caller
+// reloads it while concurrent callers keep getting the previous value, so a
+// slow COUNT(*) runs at most once per key per staleness window per instance.
+@Service
+@Slf4j
+public class TotalCountService implements MeterBinder {
+
+    private final PostRepository postRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxStalenessMillis;
+    private final boolean estimatePostTotal;
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+    private final CacheStats stats = new CacheStats("list-totals");
+
+    public TotalCountService(PostRepository postRepository, JdbcTemplate jdbcTemplate,
+            @Value("${neoping.counts.max-staleness-ms:60000}") long maxStalenessMillis,
+            @Value("${neoping.counts.post-total-source:exact}") String postTotalSource) {
+        this.postRepository = postRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxStalenessMillis = maxStalenessMillis;
+        this.estimatePostTotal = "estimate".equalsIgnoreCase(postTotalSource);
+    }
+
+    public long getPostTotal() {
+        return get("posts", estimatePostTotal ? this::estimatePostRows : postRepository::count);
+    }
+
+    public long get(String key, LongSupplier loader) {
+        CachedCount cached = counts.get(key);
+        if (cached == null) {
+            stats.miss();
+            return counts.computeIfAbsent(key, k -> new CachedCount(loader.getAsLong())).value;
+        }
+        if (System.currentTimeMillis() - cached.loadedAt <= maxStalenessMillis
+                || !cached.refreshing.compareAndSet(false, true)) {
+            stats.hit();
+        } else {
+            stats.miss();
+            try {
+                cached.value = loader.getAsLong();
+                cached.loadedAt = System.currentTimeMillis();
+            } catch (Exception e) {
+                log.warn("Failed to refresh total for {}, serving the previous value: {}", key, e.getMessage());
+            } finally {
+                cached.refreshing.set(false);
+            }
+        }
+        return cached.value;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        stats.bindTo(registry);
+    }
+
+    // InnoDB's row estimate from table statistics: no scan, but only as fresh
+    // as the last statistics update (information_schema_stats_expiry, ANALYZE
+    // TABLE) and typically within a few percent. Falls back to COUNT(*).
+    private long estimatePostRows() {
+        try {
+            Long rows = jdbcTemplate.queryForObject(
+                    "SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'post'",
+                    Long.class);
+            if (rows != null) {
+                return rows;
+            }
+        } catch (Exception e) {
+            log.debug("Row estimate unavailable, counting instead: {}", e.getMessage());
+        }
+        return postRepository.count();
+    }
+
+    private static final class CachedCount {
+        private volatile long value;
+        private volatile long loadedAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private CachedCount(long value) {
+            this.value = value;
+            this.loadedAt = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.neoping.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.neoping.backend.dto.TypeaheadSuggestionDto;
+import com.neoping.backend.repository.CommentRepository;
+import com.neoping.backend.repository.CommunityRepository;
+import com.neoping.backend.repository.PostRepository;
+import com.neoping.backend.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Prefix completions for the @mention and community pickers. One trie per
+// type, where every node keeps its own top-K entries by popularity, so a
+// lookup is a walk down the prefix plus a copy of at most K entries, with no
+// database access. Readers never lock: children are concurrent maps and each
+// node's top-K array is replaced, never mutated. Writers (signup, community
+// creation) are serialized. Popularity is refreshed by a periodic background
+// rebuild that swaps in a new trie; inserts made while it runs are replayed.
+@Service
+@Slf4j
+public class TypeaheadService {
+
+    public enum Type {
+        USER, COMMUNITY
+    }
+
+    public static final int MAX_SUGGESTIONS = 10;
+    private static final int MAX_PREFIX_LENGTH = 64;
+    private static final int REBUILD_BATCH = 1000;
+
+    private final UserRepository userRepository;
+    private final CommunityRepository communityRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final TaskExecutor taskExecutor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile Map<Type, Trie> tries;
+    // Non-null while a rebuild is running: inserts to replay onto the new tries
+    private List<Entry> insertsDuringRebuild;
+
+    public TypeaheadService(UserRepository userRepository, CommunityRepository communityRepository,
+            PostRepository postRepository, CommentRepository commentRepository,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.userRepository = userRepository;
+        this.communityRepository = communityRepository;
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.taskExecutor = taskExecutor;
+    }
+
+    public boolean isReady() {
+        return tries != null;
+    }
+
+    public List<TypeaheadSuggestionDto> complete(Type type, String prefix, int limit) {
+        Map<Type, Trie> current = tries;
+        String key = normalize(prefix);
+        if (current == null || key.isEmpty() || key.length() > MAX_PREFIX_LENGTH) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(current.get(type).top(key))
+                .limit(Math.max(1, Math.min(limit, MAX_SUGGESTIONS)))
+                .map(Entry::toDto)
+                .collect(Collectors.toList());
+    }
+
+    public void addUser(Long id, String username) {
+        insertAfterCommit(new Entry(Type.USER, id, username, username, 0));
+    }
+
+    public void addCommunity(Long id, String name, String displayName, long members) {
+        insertAfterCommit(new Entry(Type.COMMUNITY, id, name, displayName, members));
+    }
+
+    // Runs once at startup and then every rebuild interval, off the scheduler thread
+    @Scheduled(initialDelay = 0, fixedDelayString = "${neoping.typeahead.rebuild-ms:600000}")
+    public void scheduleRebuild() {
+        if (rebuilding.compareAndSet(false, true)) {
+            taskExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        }
+    }
+
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.lock();
+        try {
+            insertsDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            Map<Type, Trie> fresh = Map.of(Type.USER, new Trie(), Type.COMMUNITY, new Trie());
+            int users = loadUsers(fresh.get(Type.USER));
+            int communities = loadCommunities(fresh.get(Type.COMMUNITY));
+            lock.lock();
+            try {
+                for (Entry entry : insertsDuringRebuild) {
+                    fresh.get(entry.type).insert(entry);
+                }
+                tries = fresh;
+            } finally {
+                insertsDuringRebuild = null;
+                lock.unlock();
+            }
+            log.info("Typeahead index rebuilt: {} users, {} communities in {} ms", users, communities,
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Typeahead index rebuild failed: {}", e.getMessage(), e);
+            lock.lock();
+            try {
+                insertsDuringRebuild = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private int loadUsers(Trie trie) {
+        Map<String, Long> activity = new HashMap<>();
+        for (Object[] row : postRepository.countPostsByUsername()) {
+            activity.merge((String) row[0], (Long) row[1], Long::sum);
+        }
+        for (Object[] row : commentRepository.countCommentsByUsername()) {
+            activity.merge((String) row[0], (Long) row[1], Long::sum);
+        }
+        int count = 0;
+        long afterId = 0;
+        while (true) {
+            List<Object[]> rows = userRepository.findSearchRowsAfter(afterId, Limit.of(REBUILD_BATCH));
+            for (Object[] row : rows) {
+                afterId = (Long) row[0];
+                String username = (String) row[1];
+                trie.insert(new Entry(Type.USER, afterId, username, username, activity.getOrDefault(username, 0L)));
+            }
+            count += rows.size();
+            if (rows.size() < REBUILD_BATCH) {
+                return count;
+            }
+        }
+    }
+
+    private int loadCommunities(Trie trie) {
+        int count = 0;
+        long afterId = 0;
+        while (true) {
+            List<Object[]> rows = communityRepository.findTypeaheadRowsAfter(afterId, Limit.of(REBUILD_BATCH));
+            for (Object[] row : rows) {
+                afterId = (Long) row[0];
+                trie.insert(new Entry(Type.COMMUNITY, afterId, (String) row[1], (String) row[2],
+                        ((Number) row[3]).longValue()));
+            }
+            count += rows.size();
+            if (rows.size() < REBUILD_BATCH) {
+                return count;
+            }
+        }
+    }
+
+    private void insertAfterCommit(Entry entry) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(entry);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                insert(entry);
+            }
+        });
+    }
+
+    private void insert(Entry entry) {
+        lock.lock();
+        try {
+            if (insertsDuringRebuild != null) {
+                insertsDuringRebuild.add(entry);
+            }
+            Map<Type, Trie> current = tries;
+            if (current != null) {
+                current.get(entry.type).insert(entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Entry {
+        private static final Comparator<Entry> BY_POPULARITY = Comparator.comparingLong((Entry e) -> e.score)
+                .reversed()
+                .thenComparing(e -> e.value, String.CASE_INSENSITIVE_ORDER);
+
+        private final Type type;
+        private final Long id;
+        private final String value;
+        private final String label;
+        private final long score;
+
+        private Entry(Type type, Long id, String value, String label, long score) {
+            this.type = type;
+            this.id = id;
+            this.value = value;
+            this.label = label;
+            this.score = score;
+        }
+
+        // Reachable by its value and by every word of its label, so
+        // "Java Developers" is found from "dev" as well as "java"
+        private Set<String> keys() {
+            Set<String> keys = new LinkedHashSet<>();
+            keys.add(normalize(value));
+            if (label != null) {
+                String normalized = normalize(label);
+                keys.add(normalized);
+                for (String word : normalized.split("\\s+")) {
+                    keys.add(word);
+                }
+            }
+            keys.removeIf(String::isEmpty);
+            return keys;
+        }
+
+        private TypeaheadSuggestionDto toDto() {
+            return TypeaheadSuggestionDto.builder()
+                    .type(type.name().toLowerCase())
+                    .id(id)
+                    .value(value)
+                    .label(label)
+                    .score(score)
+                    .build();
+        }
+    }
+
+    private static final class Trie {
+        private final Node root = new Node();
+
+        // Callers serialize inserts; lookups may run concurrently
+        private void insert(Entry entry) {
+            for (String key : entry.keys()) {
+                Node node = root;
+                for (int i = 0; i < key.length() && i < MAX_PREFIX_LENGTH; i++) {
+                    node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+                    node.offer(entry);
+                }
+            }
+        }
+
+        private Entry[] top(String prefix) {
+            Node node = root;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.get(prefix.charAt(i));
+                if (node == null) {
+                    return new Entry[0];
+                }
+            }
+            return node.top;
+        }
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new ConcurrentHashMap<>();
+        private volatile Entry[] top = new Entry[0];
+
+        // Keeps the K most popular entries; an entry with the same id (the
+        // same row inserted again, e.g. replayed after a rebuild) is replaced
+        private void offer(Entry entry) {
+            Entry[] existing = top;
+            if (existing.length == MAX_SUGGESTIONS
+                    && Entry.BY_POPULARITY.compare(entry, existing[existing.length - 1]) >= 0
+                    && Arrays.stream(existing).noneMatch(e -> e.id.equals(entry.id))) {
+                return;
+            }
+            Entry[] current = Arrays.stream(existing)
+                    .filter(e -> !e.id.equals(entry.id))
+                    .toArray(Entry[]::new);
+            if (current.length == MAX_SUGGESTIONS
+                    && Entry.BY_POPULARITY.compare(entry, current[current.length - 1]) >= 0) {
+                return;
+            }
+            Entry[] next = Arrays.copyOf(current, Math.min(current.length + 1, MAX_SUGGESTIONS));
+            int i = Math.min(current.length, MAX_SUGGESTIONS - 1);
+            while (i > 0 && Entry.BY_POPULARITY.compare(entry, next[i - 1]) < 0) {
+                next[i] = next[i - 1];
+                i--;
+            }
+            next[i] = entry;
+            top = next;
+        }
+    }
+}
@@ -16,9 +16,11 @@ import com.neoping.backend.model.User;
 import com.neoping.backend.repository.UserRepository;
 
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 @Service
 @AllArgsConstructor
+@Slf4j
 public class UserDetailsServiceImpl implements UserDetailsService {
     private final UserRepository userRepository;
 
@@ -44,28 +46,25 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         // First try exact match
         Optional<User> user = userRepository.findByUsername(username);
         if (user.isPresent()) {
-            System.out.println("Found exact match for: " + username);
             return user;
         }
 
         // Try with "u/" prefix
         user = userRepository.findByUsername("u/" + username);
         if (user.isPresent()) {
-            System.out.println("Found with u/ prefix for: " + username + " -> u/" + username);
+            log.debug("Found with u/ prefix for: {}", username);
             return user;
         }
 
         // Try case-insensitive search for partial matches
         // This handles cases like "Ohene" matching "Ohene Updated"
         List<User> allUsers = userRepository.findAll();
-        System.out.println("Searching among " + allUsers.size() + " users for: " + username);
+        log.debug("Searching among {} users for: {}", allUsers.size(), username);
 
         for (User u : allUsers) {
-            System.out.println("Checking user: " + u.getUsername() + " against: " + username);
-
             // More precise matching: username should start with the search term
             if (u.getUsername().toLowerCase().startsWith(username.toLowerCase())) {
-                System.out.println("Found startsWith match: " + u.getUsername() + " for: " + username);
+                log.debug("Found startsWith match: {} for: {}", u.getUsername(), username);
                 return Optional.of(u);
             }
 
@@ -73,12 +72,12 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             String usernameWithoutPrefix = u.getUsername().startsWith("u/") ? u.getUsername().substring(2)
                     : u.getUsername();
             if (usernameWithoutPrefix.toLowerCase().startsWith(username.toLowerCase())) {
-                System.out.println("Found match without u/ prefix: " + u.getUsername() + " for: " + username);
+                log.debug("Found match without u/ prefix: {} for: {}", u.getUsername(), username);
                 return Optional.of(u);
             }
         }
 
-        System.out.println("No match found for: " + username);
+        log.debug("No match found for: {}", username);
         return Optional.empty();
     }
 
@@ -19,8 +19,15 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class VideoService {
     private final VideoRepository videoRepository;
+    private final SearchIndexService searchIndexService;
 
     public List<VideoDto> getVideos(String search, String category, int page, int limit) {
+        if (search != null && !search.isEmpty() && searchIndexService.isReady()) {
+            List<Long> ids = searchIndexService.search(SearchIndexService.Type.VIDEO, search, page, limit);
+            return SearchIndexService.inRankOrder(ids, videoRepository.findAllById(ids), Video::getId).stream()
+                    .map(this::toDto)
+                    .collect(Collectors.toList());
+        }
         Pageable pageable = PageRequest.of(page, limit, Sort.by(Sort.Direction.DESC, "uploadedAt"));
         Page<Video> videoPage;
         if (search != null && !search.isEmpty()) {
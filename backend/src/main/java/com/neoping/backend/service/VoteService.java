@@ -1,17 +1,21 @@
 package com.neoping.backend.service;
 
 import com.neoping.backend.exception.SpringRedditException;
+import com.neoping.backend.model.EngagementEvent;
 import com.neoping.backend.model.Post;
+import com.neoping.backend.model.User;
 import com.neoping.backend.model.Vote;
 import com.neoping.backend.model.VoteType;
 import com.neoping.backend.repository.PostRepository;
 import com.neoping.backend.repository.VoteRepository;
 import com.neoping.backend.dto.VoteDto;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
+import java.util.Set;
 
 import lombok.AllArgsConstructor;
 
@@ -19,30 +23,52 @@ import lombok.AllArgsConstructor;
 @Transactional
 @AllArgsConstructor
 public class VoteService {
+private static final Set<Long> VOTE_MILESTONES = Set.of(10L, 50L, 100L, 500L, 1000L, 5000L, 10000L);
+
 private final AuthService authService;
 private final PostRepository postRepository;
 private final VoteRepository voteRepository;
+private final ApplicationEventPublisher eventPublisher;
 
     public void vote(VoteDto voteDto) {
         Post post = postRepository.findById(voteDto.getPostId())
             .orElseThrow(() -> new SpringRedditException("Post not found with id: " + voteDto.getPostId()));
-        Optional<Vote> voteByPostAndUser = voteRepository.findTopByPostAndUserOrderByVoteIdDesc(post, authService.getCurrentUser());
+        User voter = authService.getCurrentUser();
+        Optional<Vote> voteByPostAndUser = voteRepository.findTopByPostAndUserOrderByVoteIdDesc(post, voter);
         if(voteByPostAndUser.isPresent() && voteByPostAndUser.get().getVoteType().equals(voteDto.getVoteType())) {
             throw new SpringRedditException("You have already voted for this post");
         }
-        if(VoteType.UPVOTE.equals(voteDto.getVoteType())) {
-            post.setVoteCount(post.getVoteCount() + 1);
-        } else {
-            post.setVoteCount(post.getVoteCount() - 1);
+        voteRepository.save(mapToVote(voteDto, post, voter));
+        // Counted in place, so concurrent votes neither conflict nor get lost
+        postRepository.adjustVoteCount(post.getId(), VoteType.UPVOTE.equals(voteDto.getVoteType()) ? 1 : -1);
+        if (VoteType.UPVOTE.equals(voteDto.getVoteType())) {
+            publishUpvote(post, voter.getUsername());
+        }
+    }
+
+    // Delivered after commit; NotificationFanoutService folds bursts together.
+    // The milestone is decided from the row as this vote's UPDATE left it (the
+    // row stays locked until commit), so concurrent votes each see their own
+    // count and every milestone is reached by exactly one of them.
+    private void publishUpvote(Post post, String voter) {
+        EngagementEvent.EngagementEventBuilder event = EngagementEvent.builder()
+            .actor(voter)
+            .postId(post.getId())
+            .postTitle(post.getTitle())
+            .postOwner(post.getUser().getUsername());
+        eventPublisher.publishEvent(event.type(EngagementEvent.Type.UPVOTE).build());
+        Long voteCount = postRepository.findVoteCountById(post.getId());
+        if (VOTE_MILESTONES.contains(voteCount)) {
+            eventPublisher.publishEvent(event.type(EngagementEvent.Type.MILESTONE)
+                .voteCount(voteCount)
+                .build());
         }
-        voteRepository.save(mapToVote(voteDto, post));
-        postRepository.save(post);
     }
 
-    private Vote mapToVote(VoteDto voteDto, Post post) {
+    private Vote mapToVote(VoteDto voteDto, Post post, User voter) {
         return Vote.builder()
             .post(post)
-            .user(authService.getCurrentUser())
+            .user(voter)
             .voteType(voteDto.getVoteType())
             .build();
     }
@@ -0,0 +1,107 @@
+package com.neoping.backend.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+// Throughput against Hikari pool size on an in-memory H2 database in MySQL
+// mode. Each simulated request runs the handful of short queries a feed
+// request makes; the database sleeps per query to stand in for network and
+// server time. Run with:
+//   mvn test -Dtest=ConnectionPoolBenchmark -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ConnectionPoolBenchmark {
+
+    private static final int[] POOL_SIZES = { 2, 4, 8, 16, 32, 64 };
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 64);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 4000);
+    private static final int QUERIES_PER_REQUEST = 4;
+    private static final int QUERY_LATENCY_MS = Integer.getInteger("benchmark.latency-ms", 2);
+
+    // Called from SQL via CREATE ALIAS
+    public static int sleepMs(int millis) throws InterruptedException {
+        Thread.sleep(millis);
+        return millis;
+    }
+
+    @Test
+    void throughputByPoolSize() throws Exception {
+        System.out.printf("%n%-10s %12s %14s%n", "pool", "req/s", "avg ms/req");
+        for (int poolSize : POOL_SIZES) {
+            try (HikariDataSource dataSource = dataSource(poolSize)) {
+                seed(dataSource);
+                run(dataSource, CLIENTS * 4); // warm-up
+                long start = System.nanoTime();
+                run(dataSource, REQUESTS);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("%-10d %12.0f %14.2f%n", poolSize, REQUESTS / seconds,
+                        seconds * 1000 * CLIENTS / REQUESTS);
+            }
+        }
+    }
+
+    private HikariDataSource dataSource(int poolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:pool" + poolSize + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        config.setPoolName("benchmark-" + poolSize);
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(poolSize);
+        config.setConnectionTimeout(30000);
+        return new HikariDataSource(config);
+    }
+
+    private void seed(HikariDataSource dataSource) throws Exception {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE ALIAS IF NOT EXISTS SLEEP_MS FOR \""
+                    + ConnectionPoolBenchmark.class.getName() + ".sleepMs\"");
+            statement.execute("CREATE TABLE IF NOT EXISTS post (id BIGINT PRIMARY KEY, vote_count INT)");
+            statement.execute("MERGE INTO post KEY (id) SELECT x, x FROM SYSTEM_RANGE(1, 1000)");
+        }
+    }
+
+    private void run(HikariDataSource dataSource, int requests) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                long postId = i % 1000 + 1;
+                results.add(clients.submit(() -> {
+                    request(dataSource, postId);
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            clients.shutdown();
+        }
+    }
+
+    // Like the application, every query borrows and returns its own connection
+    private void request(HikariDataSource dataSource, long postId) throws Exception {
+        for (int q = 0; q < QUERIES_PER_REQUEST; q++) {
+            try (Connection connection = dataSource.getConnection();
+                    PreparedStatement statement = connection.prepareStatement(
+                            "SELECT vote_count, SLEEP_MS(?) FROM post WHERE id = ?")) {
+                statement.setInt(1, QUERY_LATENCY_MS);
+                statement.setLong(2, postId);
+                try (ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,456 @@
+package com.neoping.backend.perf;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.IntFunction;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import com.neoping.backend.controller.PostV2Controller;
+import com.neoping.backend.security.JwtProvider;
+import com.neoping.backend.service.SearchIndexService;
+import com.neoping.backend.service.TypeaheadService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Query-count and latency guardrail for every controller in
+// com.neoping.backend.controller. Boots the whole application on in-memory
+// H2 (MySQL mode), seeds 100k posts, 1M comments and 1M votes (see
+// PerfDataSeeder), then sends each sample request through MockMvc and
+// records the SQL statements it executed, the rows it read and its median
+// latency. The build fails when an endpoint exceeds its stored baseline:
+// any extra statement, more than 10% more rows, or a median over twice the
+// baseline (and at least 20 ms slower). Every GET endpoint needs a sample and
+// every controller at least one, so new endpoints cannot slip past.
+//
+// Run:              mvn test -Dtest=EndpointPerformanceTest -Dperf=true -DargLine=-Xmx3g
+// Re-record:        ... -Dperf.record=true   (writes src/test/resources/perf/baseline.properties)
+// Options:          -Dperf.scale=0.1 (data volume), -Dperf.latency=false (skip the latency gate on
+//                   noisy machines), -Dperf.warmup=5 -Dperf.runs=15
+@EnabledIfSystemProperty(named = "perf", matches = "true")
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:perf;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop" })
+public class EndpointPerformanceTest {
+
+    private static final Path BASELINE = Paths.get("src/test/resources/perf/baseline.properties");
+    private static final String CONTROLLER_PACKAGE = "com.neoping.backend.controller";
+    // GET endpoints that cannot be timed as a request/response
+    private static final Set<String> UNMEASURED = Set.of("GET /api/notifications/stream");
+
+    private static final double ROW_TOLERANCE = 1.10;
+    private static final double LATENCY_FACTOR = 2.0;
+    private static final long LATENCY_FLOOR_MS = 20;
+
+    private static final boolean RECORD = Boolean.getBoolean("perf.record");
+    private static final boolean CHECK_LATENCY = !"false".equals(System.getProperty("perf.latency"));
+    private static final int WARMUP = Integer.getInteger("perf.warmup", 5);
+    private static final int RUNS = Integer.getInteger("perf.runs", 15);
+    private static final Properties BASELINE_VALUES = loadBaseline();
+    private static final double SCALE = Double.parseDouble(System.getProperty("perf.scale",
+            BASELINE_VALUES.getProperty("scale", "1.0")));
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtProvider jwtProvider;
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+    @Autowired
+    private SearchIndexService searchIndexService;
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @TestConfiguration
+    static class PerfConfig {
+
+        @Bean
+        static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)
+                            ? new QueryCountingDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+
+        @Bean
+        PerfDataSeeder perfDataSeeder(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+            return new PerfDataSeeder(dataSource, entityManagerFactory, new PerfDataSeeder.Volumes(SCALE));
+        }
+    }
+
+    @Test
+    void endpointsStayWithinBaseline() throws Exception {
+        if (!RECORD && BASELINE_VALUES.containsKey("scale")
+                && Double.parseDouble(BASELINE_VALUES.getProperty("scale")) != SCALE) {
+            fail("Baseline was recorded at scale " + BASELINE_VALUES.getProperty("scale") + ", not " + SCALE
+                    + "; re-record with -Dperf.record=true");
+        }
+        List<Sample> samples = samples();
+        checkCoverage(samples);
+        awaitIndexes();
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (Sample sample : samples) {
+            results.put(sample.name, measure(sample));
+        }
+        report(results);
+
+        if (RECORD) {
+            writeBaseline(results);
+            return;
+        }
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Result> entry : results.entrySet()) {
+            compare(entry.getKey(), entry.getValue(), regressions);
+        }
+        assertTrue(regressions.isEmpty(), "Performance regressions against " + BASELINE + ":\n  "
+                + String.join("\n  ", regressions));
+    }
+
+    // One request per endpoint, plus variants where an endpoint has more than
+    // one code path worth guarding. Every request carries a token, as the
+    // frontend's do. Write samples get the iteration number so every request
+    // touches a fresh row.
+    private List<Sample> samples() {
+        String reader = token("reader");
+        String power = token("power");
+        String writer = token("writer");
+        List<Sample> samples = new ArrayList<>();
+
+        samples.add(new Sample("GET /api/auth/accountVerification/{token}", null,
+                i -> authorized(get("/api/auth/accountVerification/{token}", PerfDataSeeder.VERIFICATION_TOKEN),
+                        reader)));
+        samples.add(new Sample("GET /api/auth/debug/user/{username}", null,
+                i -> authorized(get("/api/auth/debug/user/{username}", "reader"), reader)));
+        samples.add(new Sample("GET /api/auth/debug/users", null, i -> authorized(get("/api/auth/debug/users"), reader)));
+
+        samples.add(new Sample("GET /api/chat/between/{user1Id}/{user2Id}", null,
+                i -> authorized(get("/api/chat/between/{a}/{b}", PerfDataSeeder.READER_ID,
+                        PerfDataSeeder.POWER_ID), reader)));
+        samples.add(new Sample("GET /api/chat/user/{userId}", null,
+                i -> authorized(get("/api/chat/user/{id}", PerfDataSeeder.READER_ID), reader)));
+
+        // Deliberately answers 404 with usage hints
+        samples.add(new Sample("GET /api/comments", null, 404, i -> authorized(get("/api/comments"), reader)));
+        samples.add(new Sample("GET /api/comments/{postId}", null, i -> authorized(get("/api/comments/{id}", 500), reader)));
+        samples.add(new Sample("GET /api/comments/by-user/{username}", null,
+                i -> authorized(get("/api/comments/by-user/{name}", "user10"), reader)));
+        samples.add(new Sample("POST /api/comments", null,
+                i -> json(post("/api/comments"), writer,
+                        "{\"postId\":" + (1000 + i) + ",\"userName\":\"writer\",\"content\":\"Perf comment " + i + "\"}")));
+
+        samples.add(new Sample("GET /api/communities", null,
+                i -> authorized(get("/api/communities?sort=members&limit=20"), reader)));
+        samples.add(new Sample("GET /api/communities/{id}", null,
+                i -> authorized(get("/api/communities/{id}", 7), reader)));
+        samples.add(new Sample("GET /api/communities/{id}/posts", null,
+                i -> authorized(get("/api/communities/{id}/posts?limit=20", 7), reader)));
+        samples.add(new Sample("POST /api/communities/{id}/members", null,
+                i -> authorized(post("/api/communities/{id}/members", i + 1), writer)));
+        samples.add(new Sample("DELETE /api/communities/{id}/members", null,
+                i -> authorized(delete("/api/communities/{id}/members", i + 1), writer)));
+
+        samples.add(new Sample("GET /api/health", null, i -> authorized(get("/api/health"), reader)));
+        samples.add(new Sample("GET /api/status", null, i -> authorized(get("/api/status"), reader)));
+
+        samples.add(new Sample("GET /api/inbox", null, i -> authorized(get("/api/inbox"), reader)));
+        samples.add(new Sample("GET /api/inbox/{conversationId}", null,
+                i -> authorized(get("/api/inbox/{id}", 1), reader)));
+
+        samples.add(new Sample("GET /api/news", null, i -> authorized(get("/api/news?limit=10"), reader)));
+        samples.add(new Sample("GET /api/news/{id}", null, i -> authorized(get("/api/news/{id}", 5), reader)));
+        samples.add(new Sample("GET /api/news/{id}/comments", null,
+                i -> authorized(get("/api/news/{id}/comments", 5), reader)));
+
+        samples.add(new Sample("GET /api/notifications", null,
+                i -> authorized(get("/api/notifications?limit=20"), reader)));
+        samples.add(new Sample("GET /api/notifications/unread-count", null,
+                i -> authorized(get("/api/notifications/unread-count"), reader)));
+
+        samples.add(new Sample("GET /api/posts", null, i -> authorized(get("/api/posts?limit=20"), reader)));
+        samples.add(new Sample("GET /api/posts", "category",
+                i -> authorized(get("/api/posts?limit=20&category=Technology"), reader)));
+        samples.add(new Sample("GET /api/posts/{id}", null, i -> authorized(get("/api/posts/{id}", 500), reader)));
+        samples.add(new Sample("GET /api/posts/home", "merged on read",
+                i -> authorized(get("/api/posts/home?limit=20"), reader)));
+        samples.add(new Sample("GET /api/posts/home", "precomputed timeline",
+                i -> authorized(get("/api/posts/home?limit=20"), power)));
+        samples.add(new Sample("GET /api/posts/popular", null,
+                i -> authorized(get("/api/posts/popular?limit=10"), reader)));
+        samples.add(new Sample("GET /api/posts/latest", null,
+                i -> authorized(get("/api/posts/latest?limit=10"), reader)));
+        samples.add(new Sample("GET /api/posts/new", null,
+                i -> authorized(get("/api/posts/new?limit=10"), reader)));
+        samples.add(new Sample("GET /api/posts/category/{category}", null,
+                i -> authorized(get("/api/posts/category/{category}?limit=20", "Technology"), reader)));
+        samples.add(new Sample("GET /api/posts/by-user/{name}", null,
+                i -> authorized(get("/api/posts/by-user/{name}", "user10"), reader)));
+        samples.add(new Sample("POST /api/posts", null,
+                i -> json(post("/api/posts"), writer, "{\"title\":\"Perf post " + i
+                        + "\",\"description\":\"Body\",\"category\":\"Technology\",\"community\":\"community1\"}")));
+
+        // Compact v2 feeds, by path and by Accept header
+        samples.add(new Sample("GET /api/v2/posts", null, i -> authorized(get("/api/v2/posts?limit=20"), reader)));
+        samples.add(new Sample("GET /api/posts", "v2 by Accept",
+                i -> authorized(get("/api/posts?limit=20"), reader).accept(PostV2Controller.MEDIA_TYPE)));
+        samples.add(new Sample("GET /api/v2/posts/{id}", null,
+                i -> authorized(get("/api/v2/posts/{id}", 500), reader)));
+        samples.add(new Sample("GET /api/v2/posts/home", null,
+                i -> authorized(get("/api/v2/posts/home?limit=20"), reader)));
+        samples.add(new Sample("GET /api/v2/posts/category/{category}", null,
+                i -> authorized(get("/api/v2/posts/category/{category}?limit=20", "Technology"), reader)));
+
+        samples.add(new Sample("GET /api/profile/{username}", null,
+                i -> authorized(get("/api/profile/{username}", "reader"), reader)));
+
+        samples.add(new Sample("GET /api/search", null,
+                i -> authorized(get("/api/search?q=spring&limit=20"), reader)));
+
+        samples.add(new Sample("GET /api/typeahead/users", null,
+                i -> authorized(get("/api/typeahead/users?q=user1"), reader)));
+        samples.add(new Sample("GET /api/typeahead/communities", null,
+                i -> authorized(get("/api/typeahead/communities?q=comm"), reader)));
+
+        samples.add(new Sample("GET /api/videos", null, i -> authorized(get("/api/videos?limit=10"), reader)));
+
+        samples.add(new Sample("POST /api/votes", null,
+                i -> json(post("/api/votes"), writer, "{\"postId\":" + (2000 + i) + ",\"voteType\":\"UPVOTE\"}")));
+        return samples;
+    }
+
+    // Every GET handler in the controller package has a sample, every sample
+    // names a real handler, and every controller has at least one sample
+    private void checkCoverage(List<Sample> samples) {
+        Map<String, Class<?>> endpoints = new HashMap<>();
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMapping.getHandlerMethods().entrySet()) {
+            Class<?> controller = entry.getValue().getBeanType();
+            if (!controller.getPackageName().equals(CONTROLLER_PACKAGE)) {
+                continue;
+            }
+            Set<RequestMethod> methods = entry.getKey().getMethodsCondition().getMethods();
+            for (String pattern : entry.getKey().getPatternValues()) {
+                for (RequestMethod method : methods.isEmpty() ? Set.of(RequestMethod.GET) : methods) {
+                    endpoints.put(method + " " + pattern, controller);
+                }
+            }
+        }
+
+        Set<String> sampled = new TreeSet<>();
+        Set<Class<?>> covered = new HashSet<>();
+        for (Sample sample : samples) {
+            Class<?> controller = endpoints.get(sample.endpoint);
+            assertTrue(controller != null, "Sample for unknown endpoint " + sample.endpoint);
+            sampled.add(sample.endpoint);
+            covered.add(controller);
+        }
+        Set<String> missing = new TreeSet<>();
+        for (String endpoint : endpoints.keySet()) {
+            if (endpoint.startsWith("GET ") && !sampled.contains(endpoint) && !UNMEASURED.contains(endpoint)) {
+                missing.add(endpoint);
+            }
+        }
+        Set<String> uncovered = new TreeSet<>();
+        for (Class<?> controller : endpoints.values()) {
+            if (!covered.contains(controller)) {
+                uncovered.add(controller.getSimpleName());
+            }
+        }
+        assertTrue(missing.isEmpty(), "GET endpoints without a performance sample: " + missing);
+        assertTrue(uncovered.isEmpty(), "Controllers without a performance sample: " + uncovered);
+    }
+
+    // Search and typeahead build their indexes off-thread at startup
+    private void awaitIndexes() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 300_000;
+        while (!(searchIndexService.isReady() && typeaheadService.isReady())) {
+            assertTrue(System.currentTimeMillis() < deadline, "Search and typeahead indexes not ready after 5 min");
+            Thread.sleep(100);
+        }
+    }
+
+    // Statement and row counts are the median over the timed runs, which
+    // smooths over a cache refresh landing in one of them
+    private Result measure(Sample sample) throws Exception {
+        int iteration = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            perform(sample, iteration++);
+        }
+        long[] nanos = new long[RUNS];
+        long[] statements = new long[RUNS];
+        long[] rows = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            QueryCountingDataSource.start();
+            long start = System.nanoTime();
+            try {
+                perform(sample, iteration++);
+            } finally {
+                nanos[i] = System.nanoTime() - start;
+                QueryCountingDataSource.Counts counts = QueryCountingDataSource.stop();
+                statements[i] = counts.getStatements();
+                rows[i] = counts.getRows();
+            }
+        }
+        return new Result(median(statements), median(rows), median(nanos) / 1_000_000.0);
+    }
+
+    private void perform(Sample sample, int iteration) throws Exception {
+        int status = mockMvc.perform(sample.request.apply(iteration)).andReturn().getResponse().getStatus();
+        assertTrue(sample.status != 0 ? status == sample.status : status < 400, sample.name + " returned " + status);
+    }
+
+    private void compare(String name, Result actual, List<String> regressions) {
+        String statements = BASELINE_VALUES.getProperty(name + ".statements");
+        if (statements == null) {
+            regressions.add(name + ": no baseline; record one with -Dperf.record=true");
+            return;
+        }
+        long rows = Long.parseLong(BASELINE_VALUES.getProperty(name + ".rows"));
+        double millis = Double.parseDouble(BASELINE_VALUES.getProperty(name + ".median-ms"));
+        if (actual.statements > Long.parseLong(statements)) {
+            regressions.add(name + ": " + actual.statements + " statements, baseline " + statements);
+        }
+        if (actual.rows > Math.ceil(rows * ROW_TOLERANCE)) {
+            regressions.add(name + ": " + actual.rows + " rows read, baseline " + rows);
+        }
+        if (CHECK_LATENCY && actual.millis > Math.max(millis * LATENCY_FACTOR, millis + LATENCY_FLOOR_MS)) {
+            regressions.add(String.format("%s: median %.1f ms, baseline %.1f ms", name, actual.millis, millis));
+        }
+    }
+
+    private static void report(Map<String, Result> results) {
+        System.out.printf("%n%-60s %10s %10s %10s%n", "endpoint (scale " + SCALE + ")", "statements", "rows",
+                "median ms");
+        results.forEach((name, r) -> System.out.printf("%-60s %10d %10d %10.1f%n", name, r.statements, r.rows,
+                r.millis));
+    }
+
+    private static void writeBaseline(Map<String, Result> results) throws IOException {
+        Files.createDirectories(BASELINE.getParent());
+        try (Writer out = Files.newBufferedWriter(BASELINE)) {
+            out.write("# Recorded by EndpointPerformanceTest with -Dperf.record=true; see that class before editing\n");
+            out.write("scale=" + SCALE + "\n");
+            for (Map.Entry<String, Result> entry : results.entrySet()) {
+                String key = entry.getKey().replace(" ", "\\ ");
+                Result r = entry.getValue();
+                out.write(key + ".statements=" + r.statements + "\n");
+                out.write(key + ".rows=" + r.rows + "\n");
+                out.write(key + ".median-ms=" + String.format(Locale.ROOT, "%.1f", r.millis) + "\n");
+            }
+        }
+        System.out.println("Baseline written to " + BASELINE.toAbsolutePath());
+    }
+
+    private static Properties loadBaseline() {
+        Properties properties = new Properties();
+        if (Files.exists(BASELINE)) {
+            try (Reader in = Files.newBufferedReader(BASELINE)) {
+                properties.load(in);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot read " + BASELINE, e);
+            }
+        }
+        return properties;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private String token(String username) {
+        return jwtProvider.generateToken(new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private static MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request, String token) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+
+    private static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String token,
+            String body) {
+        return authorized(request, token).contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    private static final class Sample {
+        private final String endpoint;
+        private final String name;
+        // Expected response status; 0 accepts any success
+        private final int status;
+        private final IntFunction<MockHttpServletRequestBuilder> request;
+
+        private Sample(String endpoint, String variant, IntFunction<MockHttpServletRequestBuilder> request) {
+            this(endpoint, variant, 0, request);
+        }
+
+        private Sample(String endpoint, String variant, int status,
+                IntFunction<MockHttpServletRequestBuilder> request) {
+            this.endpoint = endpoint;
+            this.name = variant == null ? endpoint : endpoint + " [" + variant + "]";
+            this.status = status;
+            this.request = request;
+        }
+    }
+
+    private static final class Result {
+        private final long statements;
+        private final long rows;
+        private final double millis;
+
+        private Result(long statements, long rows, double millis) {
+            this.statements = statements;
+            this.rows = rows;
+            this.millis = millis;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.neoping.backend.perf;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Bulk-loads the performance data set with INSERT ... SELECT over H2's
+// SYSTEM_RANGE, once Hibernate has created the schema and before the
+// context refreshes, so the search and typeahead indexes built at startup
+// see it. Every value derives from the row number, so ids and result sizes
+// are the same on every run at a given scale.
+//
+// Fixed users: 1 "reader" (10 communities, merged on read), 2 "power"
+// (every community, precomputed timeline), 3 "writer" (no memberships or
+// votes, used by the write samples).
+@Slf4j
+class PerfDataSeeder implements InitializingBean {
+
+    static final int READER_ID = 1;
+    static final int POWER_ID = 2;
+    static final int WRITER_ID = 3;
+    static final String VERIFICATION_TOKEN = "perf-verification-token";
+
+    private static final int BATCH = 100_000;
+    private static final String EPOCH = "TIMESTAMP '2024-01-01 00:00:00'";
+
+    private final JdbcTemplate jdbc;
+    private final Volumes volumes;
+
+    PerfDataSeeder(DataSource dataSource, EntityManagerFactory schemaCreated, Volumes volumes) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.volumes = volumes;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long start = System.currentTimeMillis();
+        int users = volumes.users;
+        int communities = volumes.communities;
+        int posts = volumes.posts;
+
+        jdbc.update("INSERT INTO user (id, username, password, email, created, enabled) "
+                + "SELECT X, CASE X WHEN 1 THEN 'reader' WHEN 2 THEN 'power' WHEN 3 THEN 'writer' "
+                + "ELSE CONCAT('user', X) END, 'unused', CONCAT('user', X, '@example.com'), " + EPOCH + ", TRUE "
+                + "FROM SYSTEM_RANGE(1, ?)", users);
+        jdbc.update("INSERT INTO profile (user_id, bio, created) VALUES (?, 'Reads everything', " + EPOCH + ")",
+                READER_ID);
+        jdbc.update("INSERT INTO verification_token (token, user_id) VALUES (?, ?)", VERIFICATION_TOKEN, WRITER_ID);
+
+        jdbc.update("INSERT INTO communities (id, name, display_name, description, category, is_public, members, "
+                + "creator_id, created_at) "
+                + "SELECT X, CONCAT('community', X), CONCAT('Community ', X), 'A community for testing', "
+                + "CASE MOD(X, 4) WHEN 0 THEN 'Technology' WHEN 1 THEN 'Gaming' WHEN 2 THEN 'Music' "
+                + "ELSE 'Science' END, TRUE, 0, MOD(X, ?) + 1, " + EPOCH + " FROM SYSTEM_RANGE(1, ?)",
+                users, communities);
+        // Ten communities per user, except power (all) and writer (none)
+        jdbc.update("INSERT INTO community_memberships (community_id, user_id, joined_at) "
+                + "SELECT DISTINCT MOD((X / 10 + 1) * 13 + MOD(X, 10) * 17, ?) + 1, X / 10 + 1, " + EPOCH + " "
+                + "FROM SYSTEM_RANGE(0, ?) WHERE X / 10 + 1 NOT IN (?, ?)",
+                communities, users * 10 - 1, POWER_ID, WRITER_ID);
+        jdbc.update("INSERT INTO community_memberships (community_id, user_id, joined_at) "
+                + "SELECT X, ?, " + EPOCH + " FROM SYSTEM_RANGE(1, ?)", POWER_ID, communities);
+        jdbc.update("UPDATE communities c SET members = "
+                + "(SELECT COUNT(*) FROM community_memberships m WHERE m.community_id = c.id)");
+
+        for (int from = 1; from <= posts; from += BATCH) {
+            jdbc.update("INSERT INTO post (id, title, description, vote_count, created_date, user_id, "
+                    + "community_id, category) "
+                    + "SELECT X, CONCAT('Post ', X, ' about ', CASE MOD(X, 5) WHEN 0 THEN 'spring' "
+                    + "WHEN 1 THEN 'java' WHEN 2 THEN 'music' WHEN 3 THEN 'travel' ELSE 'science' END), "
+                    + "REPEAT('Lorem ipsum dolor sit amet, consectetur adipiscing elit. ', 6), 10, "
+                    + "DATEADD('SECOND', X * 30, " + EPOCH + "), MOD(X * 31, ?) + 1, MOD(X, ?) + 1, "
+                    + "CASE MOD(X, 4) WHEN 0 THEN 'Technology' WHEN 1 THEN 'Gaming' WHEN 2 THEN 'Music' "
+                    + "ELSE 'Science' END "
+                    + "FROM SYSTEM_RANGE(?, ?)", users, communities, from, Math.min(posts, from + BATCH - 1));
+        }
+        for (int from = 1; from <= volumes.comments; from += BATCH) {
+            jdbc.update("INSERT INTO comments (id, content, post_id, user_id, created_at) "
+                    + "SELECT X, CONCAT('Comment number ', X, ' with a few words of text'), MOD(X, ?) + 1, "
+                    + "MOD(X * 7, ?) + 1, DATEADD('SECOND', X, " + EPOCH + ") FROM SYSTEM_RANGE(?, ?)",
+                    posts, users, from, Math.min(volumes.comments, from + BATCH - 1));
+        }
+        // Up to one vote per (post, user): the k-th vote on a post comes from
+        // a user 131 * k further along. The writer casts none, so its votes
+        // never hit "already voted".
+        for (int from = 0; from < volumes.votes; from += BATCH) {
+            jdbc.update("INSERT INTO vote (vote_id, vote_type, post_id, user_id) "
+                    + "SELECT X + 1, CASE WHEN MOD(X, 5) = 0 THEN 'DOWNVOTE' ELSE 'UPVOTE' END, MOD(X, ?) + 1, "
+                    + "CASE WHEN U = ? THEN U + 1 ELSE U END "
+                    + "FROM (SELECT X, MOD(MOD(X, ?) * 7 + (X / ?) * 131, ?) + 1 AS U FROM SYSTEM_RANGE(?, ?))",
+                    posts, WRITER_ID, posts, posts, users, from, Math.min(volumes.votes, from + BATCH) - 1);
+        }
+
+        jdbc.update("INSERT INTO notification (type, user, action, content, time, is_read, post_id, recipient) "
+                + "SELECT 'comment', CONCAT('user', X + 3), 'commented on your post', 'Nice post', "
+                + "CONCAT('2024-01-01T00:00:', LPAD(MOD(X, 60), 2, '0'), 'Z'), MOD(X, 3) = 0, X, 'reader' "
+                + "FROM SYSTEM_RANGE(1, 200)");
+        jdbc.update("INSERT INTO conversation (id, user1, user2) "
+                + "SELECT X, 'reader', CONCAT('user', X + 3) FROM SYSTEM_RANGE(1, 20)");
+        jdbc.update("INSERT INTO message (conversation_id, sender, recipient, content, time, unread) "
+                + "SELECT X / 20 + 1, CASE WHEN MOD(X, 2) = 0 THEN 'reader' ELSE CONCAT('user', X / 20 + 4) END, "
+                + "CASE WHEN MOD(X, 2) = 0 THEN CONCAT('user', X / 20 + 4) ELSE 'reader' END, 'Hello there', "
+                + "CONCAT('2024-01-01T00:', LPAD(MOD(X, 60), 2, '0'), ':00Z'), MOD(X, 2) = 1 "
+                + "FROM SYSTEM_RANGE(0, 399)");
+        jdbc.update("INSERT INTO chat_messages (sender_id, receiver_id, content, timestamp) "
+                + "SELECT CASE WHEN MOD(X, 2) = 0 THEN ? ELSE ? END, CASE WHEN MOD(X, 2) = 0 THEN ? ELSE ? END, "
+                + "'Hi', DATEADD('SECOND', X, " + EPOCH + ") FROM SYSTEM_RANGE(1, 200)",
+                READER_ID, POWER_ID, POWER_ID, READER_ID);
+        jdbc.update("INSERT INTO news (user, title, excerpt, category, timestamp, upvotes, comments) "
+                + "SELECT 'Newswire', CONCAT('Headline ', X), 'Short excerpt', "
+                + "CASE MOD(X, 2) WHEN 0 THEN 'Technology' ELSE 'Science' END, DATEADD('MINUTE', X, " + EPOCH
+                + "), 0, 0 FROM SYSTEM_RANGE(1, 1000)");
+        jdbc.update("INSERT INTO video (title, description, category, uploaded_at, uploader, views) "
+                + "SELECT CONCAT('Video ', X), 'A video', CASE MOD(X, 2) WHEN 0 THEN 'Gaming' ELSE 'Music' END, "
+                + "DATEADD('MINUTE', X, " + EPOCH + "), 'reader', X FROM SYSTEM_RANGE(1, 1000)");
+
+        // Explicit ids do not advance H2's identity columns
+        restartIdentity("user", "id", users);
+        restartIdentity("communities", "id", communities);
+        restartIdentity("post", "id", posts);
+        restartIdentity("comments", "id", volumes.comments);
+        restartIdentity("vote", "vote_id", volumes.votes);
+        restartIdentity("conversation", "id", 20);
+
+        log.info("Seeded {} users, {} communities, {} posts, {} comments, {} votes in {} ms", users, communities,
+                posts, volumes.comments, volumes.votes, System.currentTimeMillis() - start);
+    }
+
+    private void restartIdentity(String table, String column, long maxId) {
+        jdbc.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " RESTART WITH " + (maxId + 1));
+    }
+
+    // Row counts at scale 1.0 match the sizes the harness is meant to guard:
+    // 100k posts, 1M comments and 1M votes. The floors keep small runs
+    // meaningful: power still follows more communities than the home feed's
+    // fan-out threshold, and the write samples have rows to target.
+    static final class Volumes {
+        final int users;
+        final int communities;
+        final int posts;
+        final int comments;
+        final int votes;
+
+        Volumes(double scale) {
+            this.users = Math.max(200, (int) (2_000 * scale));
+            this.communities = Math.max(60, (int) (200 * scale));
+            this.posts = Math.max(1_000, (int) (100_000 * scale));
+            this.comments = Math.max(10_000, (int) (1_000_000 * scale));
+            this.votes = Math.max(10_000, (int) (1_000_000 * scale));
+        }
+    }
+}
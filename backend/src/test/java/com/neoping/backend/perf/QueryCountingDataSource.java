@@ -0,0 +1,113 @@
+package com.neoping.backend.perf;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// Counts SQL statements executed and rows read through the application's
+// DataSource, per thread. MockMvc runs a request on the calling thread, so
+// start() before perform() and stop() after it attribute exactly that
+// request's work; statements on other threads (scheduled jobs, after-commit
+// executors) are not counted.
+class QueryCountingDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<Counts> COUNTS = new ThreadLocal<>();
+
+    QueryCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    static void start() {
+        COUNTS.set(new Counts());
+    }
+
+    static Counts stop() {
+        Counts counts = COUNTS.get();
+        COUNTS.remove();
+        return counts != null ? counts : new Counts();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, super.getConnection(username, password));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, T target) {
+        return (T) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[] { type },
+                new Counting(target));
+    }
+
+    private static final class Counting implements InvocationHandler {
+        private final Object target;
+
+        private Counting(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            Counts counts = COUNTS.get();
+            String name = method.getName();
+            if (target instanceof Statement && name.startsWith("execute") && counts != null) {
+                counts.statements++;
+            }
+            if (target instanceof ResultSet && name.equals("next") && Boolean.TRUE.equals(result)
+                    && counts != null) {
+                counts.rows++;
+            }
+            return wrapResult(result);
+        }
+
+        private static Object wrapResult(Object result) {
+            if (result instanceof CallableStatement statement) {
+                return wrap(CallableStatement.class, statement);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrap(PreparedStatement.class, statement);
+            }
+            if (result instanceof Statement statement) {
+                return wrap(Statement.class, statement);
+            }
+            if (result instanceof ResultSet resultSet) {
+                return wrap(ResultSet.class, resultSet);
+            }
+            return result;
+        }
+    }
+
+    static final class Counts {
+        private long statements;
+        private long rows;
+
+        long getStatements() {
+            return statements;
+        }
+
+        long getRows() {
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.neoping.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.neoping.backend.model.Notification;
+import com.neoping.backend.model.NotificationCounter;
+import com.neoping.backend.repository.NotificationCounterRepository;
+import com.neoping.backend.repository.NotificationRepository;
+
+// The unread counter must match the unread rows after a recipient's first
+// badge read (which seeds the counter) races a new notification. Runs
+// without a test transaction so the two calls commit independently.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(NotificationService.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:notificationcounter;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop" })
+class NotificationCounterTest {
+
+    private static final int ROUNDS = 200;
+
+    @Autowired
+    private NotificationService notificationService;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private NotificationCounterRepository counterRepository;
+
+    @MockBean
+    private NotificationStreamHub notificationStreamHub;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void startExecutor() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void firstNotificationSeedsTheCounter() {
+        notificationRepository.save(notification("first-reader"));
+        notificationService.createNotification(notification("first-reader"));
+
+        assertEquals(2, counterRepository.findById("first-reader").orElseThrow().getUnreadCount());
+        assertEquals(2, notificationService.getUnreadCount("first-reader"));
+    }
+
+    @Test
+    void seedRacingCreateKeepsEveryNotification() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            String recipient = "racer" + round;
+            notificationRepository.save(notification(recipient));
+            CyclicBarrier start = new CyclicBarrier(2);
+            Future<?> read = executor.submit(() -> {
+                start.await();
+                return notificationService.getUnreadCount(recipient);
+            });
+            Future<?> create = executor.submit(() -> {
+                start.await();
+                return notificationService.createNotification(notification(recipient));
+            });
+            read.get();
+            create.get();
+
+            long counted = counterRepository.findById(recipient).map(NotificationCounter::getUnreadCount)
+                    .orElseThrow();
+            assertEquals(notificationRepository.countByRecipientAndReadFalse(recipient), counted,
+                    "counter for " + recipient);
+        }
+    }
+
+    private static Notification notification(String recipient) {
+        return Notification.builder()
+                .type("comment")
+                .user("someone")
+                .content("replied to your post")
+                .recipient(recipient)
+                .build();
+    }
+}
@@ -0,0 +1,132 @@
+package com.neoping.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.neoping.backend.dto.PostRequest;
+import com.neoping.backend.dto.PostResponse;
+import com.neoping.backend.dto.ProfileDto;
+import com.neoping.backend.mapper.PostMapperImpl;
+import com.neoping.backend.model.Post;
+import com.neoping.backend.model.Profile;
+import com.neoping.backend.model.User;
+import com.neoping.backend.repository.PostRepository;
+import com.neoping.backend.repository.ProfileRepository;
+import com.neoping.backend.repository.UserRepository;
+
+// A client that sends back the version an edit returned must be able to edit
+// again, and one sending an older version must get a conflict. Runs without
+// a test transaction so each call commits, as it does behind the controllers.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ PostService.class, ProfileService.class, HomeFeedService.class, HomeTimelineStore.class,
+        PostMapperImpl.class })
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:optimisticedit;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop" })
+class OptimisticEditTest {
+
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private ProfileService profileService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @MockBean
+    private AuthService authService;
+    @MockBean
+    private SearchIndexService searchIndexService;
+    @MockBean
+    private TypeaheadService typeaheadService;
+    @MockBean
+    private PostCountService postCountService;
+    @MockBean
+    private TotalCountService totalCountService;
+
+    @Test
+    void postEditsChainOnReturnedVersion() {
+        User author = userRepository.save(user("post-author"));
+        Post post = postRepository.save(Post.builder()
+                .title("First")
+                .description("Body")
+                .category("tech")
+                .user(author)
+                .build());
+
+        PostResponse first = postService.updatePost(post.getId(), postEdit("Second", post.getVersion()),
+                "post-author");
+        PostResponse second = postService.updatePost(post.getId(), postEdit("Third", first.getVersion()),
+                "post-author");
+
+        assertEquals(postRepository.findById(post.getId()).orElseThrow().getVersion(), second.getVersion());
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> postService.updatePost(post.getId(), postEdit("Stale", first.getVersion()), "post-author"));
+    }
+
+    @Test
+    void profileEditsChainOnReturnedVersion() {
+        User owner = userRepository.save(user("profile-owner"));
+        Profile profile = profileRepository.save(Profile.builder()
+                .user(owner)
+                .bio("Hello")
+                .created(Instant.now())
+                .build());
+
+        ProfileDto first = profileService.updateUserProfile("profile-owner",
+                profileEdit("Second", profile.getVersion()));
+        ProfileDto second = profileService.updateUserProfile("profile-owner",
+                profileEdit("Third", first.getVersion()));
+
+        assertEquals(profileRepository.findById(profile.getId()).orElseThrow().getVersion(), second.getVersion());
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> profileService.updateUserProfile("profile-owner", profileEdit("Stale", first.getVersion())));
+    }
+
+    private static PostRequest postEdit(String title, Long version) {
+        PostRequest request = new PostRequest();
+        request.setTitle(title);
+        request.setDescription(title + " body");
+        request.setCategory("tech");
+        request.setVersion(version);
+        return request;
+    }
+
+    private static ProfileDto profileEdit(String bio, Long version) {
+        return ProfileDto.builder()
+                .bio(bio)
+                .version(version)
+                .build();
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("secret");
+        user.setEnabled(true);
+        return user;
+    }
+}
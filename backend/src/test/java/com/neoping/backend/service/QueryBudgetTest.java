@@ -0,0 +1,206 @@
+package com.neoping.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+
+import com.neoping.backend.mapper.CommentMapperImpl;
+import com.neoping.backend.mapper.CommunityMapperImpl;
+import com.neoping.backend.mapper.PostMapperImpl;
+import com.neoping.backend.model.Comment;
+import com.neoping.backend.model.Community;
+import com.neoping.backend.model.CommunityMembership;
+import com.neoping.backend.model.Post;
+import com.neoping.backend.model.User;
+import com.neoping.backend.model.Vote;
+import com.neoping.backend.model.VoteType;
+import com.neoping.backend.repository.CommentRepository;
+import com.neoping.backend.repository.CommunityMembershipRepository;
+import com.neoping.backend.repository.CommunityRepository;
+import com.neoping.backend.repository.PostRepository;
+import com.neoping.backend.repository.UserRepository;
+import com.neoping.backend.repository.VoteRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+// Fails when a list endpoint's service call runs more SQL statements than
+// its budget. Every page holds posts by different authors in different
+// communities, with comments and votes, so any per-row lazy load or lookup
+// pushes the count past the budget.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ PostService.class, HomeFeedService.class, HomeTimelineStore.class, CommentService.class,
+        CommunityService.class, CommunityDirectoryService.class, PostMapperImpl.class, CommentMapperImpl.class,
+        CommunityMapperImpl.class })
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querybudget;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true" })
+class QueryBudgetTest {
+
+    private static final int ROWS = 12;
+
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private HomeFeedService homeFeedService;
+    @Autowired
+    private CommentService commentService;
+    @Autowired
+    private CommunityService communityService;
+    @Autowired
+    private CommunityDirectoryService communityDirectoryService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CommunityRepository communityRepository;
+    @Autowired
+    private CommunityMembershipRepository membershipRepository;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private VoteRepository voteRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private AuthService authService;
+    @MockBean
+    private SearchIndexService searchIndexService;
+    @MockBean
+    private TypeaheadService typeaheadService;
+    @MockBean
+    private PostCountService postCountService;
+    @MockBean
+    private TotalCountService totalCountService;
+    @MockBean
+    private MailContentBuilder mailContentBuilder;
+    @MockBean
+    private MailService mailService;
+
+    private Long communityId;
+    private Long firstPostId;
+
+    @BeforeEach
+    void seed() {
+        User reader = userRepository.save(user("reader"));
+        for (int i = 0; i < ROWS; i++) {
+            User author = userRepository.save(user("author" + i));
+            Community community = communityRepository.save(Community.builder()
+                    .name("community" + i)
+                    .displayName("Community " + i)
+                    .creator(author)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            membershipRepository.save(CommunityMembership.builder()
+                    .community(community)
+                    .user(reader)
+                    .joinedAt(Instant.now())
+                    .build());
+            Post post = postRepository.save(Post.builder()
+                    .title("Post " + i)
+                    .description("Body " + i)
+                    .category("tech")
+                    .user(author)
+                    .community(community)
+                    .build());
+            if (firstPostId == null) {
+                firstPostId = post.getId();
+            }
+            // Every author comments on the first post and on their own
+            for (Long postId : List.of(firstPostId, post.getId())) {
+                commentRepository.save(Comment.builder()
+                        .content("Comment by " + author.getUsername())
+                        .post(postRepository.getReferenceById(postId))
+                        .user(author)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+            }
+            voteRepository.save(Vote.builder().voteType(VoteType.UPVOTE).post(post).user(reader).build());
+            communityId = community.getId();
+        }
+        entityManager.flush();
+        entityManager.clear();
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken("reader", null, List.of()));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void postListsStayWithinBudget() {
+        // page + comment counts + votes
+        assertBudget("GET /api/posts", 3, () -> postService.getPostPage(ROWS, 0, null, "reader").getPosts());
+        assertBudget("GET /api/posts/category/{category}", 3,
+                () -> postService.getPostPage(ROWS, 0, "tech", "reader").getPosts());
+        assertBudget("GET /api/posts/popular", 4, () -> postService.getPopularPosts(0, ROWS, null));
+        assertBudget("GET /api/posts/latest", 4, () -> postService.getLatestPosts(0, ROWS, null));
+        assertBudget("GET /api/posts/by-user/{name}", 4, () -> postService.getPostsByUsername("author0"));
+        assertBudget("GET /api/communities/{id}/posts", 3,
+                () -> postService.getCommunityFeed(communityId, ROWS, null).getPosts());
+        // user + memberships + one range read per community + page + counts + votes
+        assertBudget("GET /api/posts/home", ROWS + 5,
+                () -> homeFeedService.getHomeFeed("reader", ROWS, null).getPosts());
+    }
+
+    @Test
+    void commentAndCommunityListsStayWithinBudget() {
+        assertBudget("GET /api/comments/by-user/{username}", 2,
+                () -> commentService.getAllCommentsForUser("author3"));
+        assertBudget("GET /api/comments/{postId}", 1, () -> commentService.getAllCommentsForPost(firstPostId));
+        assertBudget("GET /api/communities", 1,
+                () -> communityDirectoryService.page(CommunityDirectoryService.Sort.MEMBERS, 0, ROWS)
+                        .getCommunities());
+        assertBudget("GET /api/communities/{id}", 1, () -> List.of(communityService.getCommunity(communityId)));
+    }
+
+    private void assertBudget(String endpoint, int budget, Supplier<List<?>> call) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+        List<?> rows = new ArrayList<>(call.get());
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(!rows.isEmpty(), endpoint + " returned nothing");
+        assertTrue(statements <= budget,
+                endpoint + " ran " + statements + " statements for " + rows.size() + " rows; budget is " + budget);
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("secret");
+        user.setEnabled(true);
+        return user;
+    }
+}